@@ -21,6 +21,7 @@ import iroha.protocol.QryResponses.AccountAsset;
 import iroha.protocol.TransactionOuterClass;
 import iroha.validation.config.ValidationServiceContext;
 import iroha.validation.listener.BrvsIrohaChainListener;
+import iroha.validation.listener.IrohaStatusTracker;
 import iroha.validation.rules.Rule;
 import iroha.validation.rules.RuleMonitor;
 import iroha.validation.rules.impl.assets.TransferTxVolumeRule;
@@ -31,8 +32,11 @@ import iroha.validation.transactions.provider.impl.AccountManager;
 import iroha.validation.transactions.provider.impl.BasicTransactionProvider;
 import iroha.validation.transactions.provider.impl.util.BrvsData;
 import iroha.validation.transactions.provider.impl.util.CacheProvider;
+import iroha.validation.transactions.signatory.SigningEngine;
+import iroha.validation.transactions.signatory.impl.ThrowawayKeyPairPool;
 import iroha.validation.transactions.signatory.impl.TransactionSignerImpl;
 import iroha.validation.transactions.storage.TransactionVerdictStorage;
+import iroha.validation.transactions.storage.impl.dummy.DummyMemoryRegisteredUsersStorage;
 import iroha.validation.transactions.storage.impl.mongo.MongoBlockStorage;
 import iroha.validation.transactions.storage.impl.mongo.MongoTransactionVerdictStorage;
 import iroha.validation.utils.ValidationUtils;
@@ -196,13 +200,6 @@ public class IrohaIntegrationTest {
     final String accountsHolderAccount = String.format("%s@%s", serviceDomainName,
         serviceDomainName);
     final QueryAPI queryAPI = new QueryAPI(irohaAPI, validatorId, validatorKeypair);
-    accountManager = new AccountManager(queryAPI,
-        "uq",
-        userDomainName,
-        accountsHolderAccount,
-        accountsHolderAccount,
-        Collections.singletonList(validatorKeypair)
-    );
     transactionVerdictStorage = new MongoTransactionVerdictStorage(mongoHost, mongoPort);
     final Map<String, Rule> ruleMap = new HashMap<>();
     ruleMap.put("sample", new SampleRule());
@@ -227,6 +224,25 @@ public class IrohaIntegrationTest {
         queryAPI,
         validatorKeypair
     );
+    final IrohaStatusTracker statusTracker = new IrohaStatusTracker(
+        irohaAPI,
+        brvsIrohaChainListener
+    );
+    final SigningEngine signingEngine = new SigningEngine(
+        validatorKeypair,
+        Collections.singletonList(validatorKeypair),
+        false
+    );
+    accountManager = new AccountManager(queryAPI,
+        "uq",
+        userDomainName,
+        accountsHolderAccount,
+        accountsHolderAccount,
+        Collections.singletonList(validatorKeypair),
+        new DummyMemoryRegisteredUsersStorage(),
+        statusTracker,
+        signingEngine
+    );
     final SimpleAggregationValidator validator = new SimpleAggregationValidator(ruleMap);
     return new ValidationServiceImpl(new ValidationServiceContext(
         validator,
@@ -245,7 +261,10 @@ public class IrohaIntegrationTest {
             validatorId,
             validatorKeypair,
             transactionVerdictStorage,
-            accountManager
+            accountManager,
+            statusTracker,
+            new ThrowawayKeyPairPool(),
+            signingEngine
         ),
         accountManager,
         new BrvsData(Utils.toHex(receiverKeypair.getPublic().getEncoded()), "localhost"),
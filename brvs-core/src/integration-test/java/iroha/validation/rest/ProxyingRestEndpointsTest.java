@@ -6,6 +6,7 @@
 package iroha.validation.rest;
 
 import static iroha.validation.utils.ValidationUtils.crypto;
+import static iroha.validation.utils.ValidationUtils.subscriptionStrategy;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static jp.co.soramitsu.iroha.java.Utils.createTxList;
 import static org.mockito.Mockito.mock;
@@ -15,14 +16,18 @@ import com.google.protobuf.util.JsonFormat;
 import com.google.protobuf.util.JsonFormat.Parser;
 import com.google.protobuf.util.JsonFormat.Printer;
 import iroha.protocol.BlockOuterClass;
+import iroha.protocol.Endpoint.ToriiResponse;
 import iroha.protocol.Endpoint.TxList;
+import iroha.protocol.Endpoint.TxStatus;
 import iroha.protocol.Primitive.RolePermission;
 import iroha.protocol.QryResponses.QueryResponse;
 import iroha.protocol.Queries.Query;
 import iroha.protocol.TransactionOuterClass;
+import iroha.validation.config.RestServiceConfig;
 import iroha.validation.rest.dto.BinaryTransaction;
 import iroha.validation.transactions.provider.RegistrationProvider;
 import iroha.validation.transactions.provider.impl.util.CacheProvider;
+import iroha.validation.transactions.signatory.SigningEngine;
 import iroha.validation.transactions.storage.TransactionVerdictStorage;
 import java.io.IOException;
 import java.io.InputStream;
@@ -34,6 +39,7 @@ import javax.ws.rs.core.Application;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import javax.xml.bind.DatatypeConverter;
 import jp.co.soramitsu.iroha.java.IrohaAPI;
 import jp.co.soramitsu.iroha.java.Transaction;
 import jp.co.soramitsu.iroha.java.Utils;
@@ -150,6 +156,8 @@ public class ProxyingRestEndpointsTest extends JerseyTest {
         bind(irohaAPI).to(IrohaAPI.class);
         bind(mock(CacheProvider.class)).to(CacheProvider.class);
         bind(senderSecondKeypair).to(KeyPair.class);
+        bind(new SigningEngine(senderSecondKeypair)).to(SigningEngine.class);
+        bind(new RestServiceConfig()).to(RestServiceConfig.class);
       }
     });
     return resourceConfig;
@@ -316,12 +324,29 @@ public class ProxyingRestEndpointsTest extends JerseyTest {
     Assert.assertEquals(roleName, builder.getAccountResponse().getAccountRoles(0));
   }
 
+  /**
+   * Checks the batch is accepted and waits for its first transaction to be committed
+   *
+   * @param response BRVS batch endpoint response containing the first transaction status
+   */
+  private static void assertBatchCommitted(Response response) throws IOException {
+    Assert.assertEquals(Status.OK.getStatusCode(), response.getStatus());
+    final ToriiResponse.Builder builder = ToriiResponse.newBuilder();
+    parser.merge(IOUtils.toString((InputStream) response.getEntity(), UTF_8), builder);
+    Assert.assertEquals(TxStatus.COMMITTED,
+        subscriptionStrategy
+            .subscribe(irohaAPI, DatatypeConverter.parseHexBinary(builder.getTxHash()))
+            .blockingLast()
+            .getTxStatus()
+    );
+  }
+
   /**
    * @given {@link RestService} instance with a creator's signature inside
    * @when {@link Transaction} batch with a valid creator's signature for each contained transaction
    * is passed to the '/batch'
    * @then BRVS proxies the transaction and returns successful status code 200 with first
-   * transaction status stream
+   * transaction status once the batch is accepted
    */
   @Test
   public void sendBatch() throws IOException {
@@ -345,10 +370,7 @@ public class ProxyingRestEndpointsTest extends JerseyTest {
             )
         );
 
-    Assert.assertEquals(Status.OK.getStatusCode(), response.getStatus());
-    Assert.assertTrue(IOUtils.toString((InputStream) response.getEntity(), UTF_8)
-        .contains("COMMITTED")
-    );
+    assertBatchCommitted(response);
   }
 
   /**
@@ -385,10 +407,7 @@ public class ProxyingRestEndpointsTest extends JerseyTest {
             )
         );
 
-    Assert.assertEquals(Status.OK.getStatusCode(), response.getStatus());
-    Assert.assertTrue(IOUtils.toString((InputStream) response.getEntity(), UTF_8)
-        .contains("COMMITTED")
-    );
+    assertBatchCommitted(response);
   }
 
   /**
@@ -424,10 +443,7 @@ public class ProxyingRestEndpointsTest extends JerseyTest {
         )
     );
 
-    Assert.assertEquals(Status.OK.getStatusCode(), response.getStatus());
-    Assert.assertTrue(IOUtils.toString((InputStream) response.getEntity(), UTF_8)
-        .contains("COMMITTED")
-    );
+    assertBatchCommitted(response);
   }
 
   /**
@@ -459,9 +475,6 @@ public class ProxyingRestEndpointsTest extends JerseyTest {
         )
     );
 
-    Assert.assertEquals(Status.OK.getStatusCode(), response.getStatus());
-    Assert.assertTrue(IOUtils.toString((InputStream) response.getEntity(), UTF_8)
-        .contains("COMMITTED")
-    );
+    assertBatchCommitted(response);
   }
 }
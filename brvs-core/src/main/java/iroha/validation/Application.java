@@ -5,10 +5,12 @@
 
 package iroha.validation;
 
+import iroha.validation.config.RestServiceConfig;
 import iroha.validation.filter.CrossDomainFilter;
 import iroha.validation.service.ValidationService;
 import iroha.validation.transactions.provider.RegistrationProvider;
 import iroha.validation.transactions.provider.impl.util.CacheProvider;
+import iroha.validation.transactions.signatory.SigningEngine;
 import iroha.validation.transactions.storage.TransactionVerdictStorage;
 import java.net.PortUnreachableException;
 import java.net.URI;
@@ -61,6 +63,8 @@ public class Application {
         bind(context.getBean(IrohaAPI.class)).to(IrohaAPI.class);
         bind(context.getBean(CacheProvider.class)).to(CacheProvider.class);
         bind(context.getBean("brvsAccountKeyPair", KeyPair.class)).to(KeyPair.class);
+        bind(context.getBean(SigningEngine.class)).to(SigningEngine.class);
+        bind(context.getBean(RestServiceConfig.class)).to(RestServiceConfig.class);
       }
     });
     resourceConfig.register(new CrossDomainFilter());
@@ -0,0 +1,48 @@
+/*
+ * Copyright D3 Ledger, Inc. All Rights Reserved.
+ *  SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.config;
+
+/**
+ * Simple data structure holding REST service tweaks
+ */
+public class RestServiceConfig {
+
+  private static final long DEFAULT_STATUS_TIMEOUT_MILLIS = 60000;
+  private static final int DEFAULT_MAX_OUTSTANDING_REQUESTS = 1000;
+
+  private final long statusTimeoutMillis;
+  private final int maxOutstandingRequests;
+
+  public RestServiceConfig() {
+    this(DEFAULT_STATUS_TIMEOUT_MILLIS, DEFAULT_MAX_OUTSTANDING_REQUESTS);
+  }
+
+  /**
+   * @param statusTimeoutMillis time to wait for a terminal transaction status before responding
+   * with a timeout
+   * @param maxOutstandingRequests amount of transaction requests awaiting for a status at most,
+   * requests above the limit are declined
+   */
+  public RestServiceConfig(long statusTimeoutMillis, int maxOutstandingRequests) {
+    if (statusTimeoutMillis < 1) {
+      throw new IllegalArgumentException("Status timeout must be positive");
+    }
+    if (maxOutstandingRequests < 1) {
+      throw new IllegalArgumentException("Outstanding requests limit must be positive");
+    }
+
+    this.statusTimeoutMillis = statusTimeoutMillis;
+    this.maxOutstandingRequests = maxOutstandingRequests;
+  }
+
+  public long getStatusTimeoutMillis() {
+    return statusTimeoutMillis;
+  }
+
+  public int getMaxOutstandingRequests() {
+    return maxOutstandingRequests;
+  }
+}
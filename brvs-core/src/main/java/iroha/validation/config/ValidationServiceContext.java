@@ -9,6 +9,7 @@ import iroha.validation.rules.RuleMonitor;
 import iroha.validation.transactions.provider.RegistrationProvider;
 import iroha.validation.transactions.provider.TransactionProvider;
 import iroha.validation.transactions.provider.impl.util.BrvsData;
+import iroha.validation.transactions.signatory.SignatureVerifier;
 import iroha.validation.transactions.signatory.TransactionSigner;
 import iroha.validation.validators.Validator;
 import java.util.Objects;
@@ -24,6 +25,7 @@ public class ValidationServiceContext {
   private final RegistrationProvider registrationProvider;
   private final BrvsData brvsData;
   private final RuleMonitor ruleMonitor;
+  private final SignatureVerifier signatureVerifier;
 
   public ValidationServiceContext(
       Validator validator,
@@ -32,6 +34,28 @@ public class ValidationServiceContext {
       RegistrationProvider registrationProvider,
       BrvsData brvsData,
       RuleMonitor ruleMonitor) {
+    this(validator,
+        transactionProvider,
+        transactionSigner,
+        registrationProvider,
+        brvsData,
+        ruleMonitor,
+        null
+    );
+  }
+
+  /**
+   * @param signatureVerifier optional {@link SignatureVerifier} to check user signatures before
+   * validation, signatures are not checked if null
+   */
+  public ValidationServiceContext(
+      Validator validator,
+      TransactionProvider transactionProvider,
+      TransactionSigner transactionSigner,
+      RegistrationProvider registrationProvider,
+      BrvsData brvsData,
+      RuleMonitor ruleMonitor,
+      SignatureVerifier signatureVerifier) {
     Objects.requireNonNull(validator, "Validator must not be null");
     Objects.requireNonNull(transactionProvider, "Transaction provider must not be null");
     Objects.requireNonNull(transactionSigner, "Transaction signer must not be null");
@@ -45,6 +69,7 @@ public class ValidationServiceContext {
     this.registrationProvider = registrationProvider;
     this.brvsData = brvsData;
     this.ruleMonitor = ruleMonitor;
+    this.signatureVerifier = signatureVerifier;
   }
 
   public Validator getValidator() {
@@ -70,4 +95,8 @@ public class ValidationServiceContext {
   public RuleMonitor getRuleMonitor() {
     return ruleMonitor;
   }
+
+  public SignatureVerifier getSignatureVerifier() {
+    return signatureVerifier;
+  }
 }
@@ -0,0 +1,263 @@
+/*
+ * Copyright D3 Ledger, Inc. All Rights Reserved.
+ *  SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.listener;
+
+import static com.d3.commons.util.ThreadUtilKt.createPrettyScheduledThreadPool;
+
+import io.reactivex.schedulers.Schedulers;
+import iroha.protocol.BlockOuterClass.Block;
+import iroha.protocol.BlockOuterClass.Block_v1.Payload;
+import iroha.protocol.Endpoint.ToriiResponse;
+import iroha.protocol.Endpoint.TxStatus;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.validation.utils.ValidationUtils;
+import java.io.Closeable;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import jp.co.soramitsu.iroha.java.IrohaAPI;
+import jp.co.soramitsu.iroha.java.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Single point of Iroha transactions statuses tracking. Instead of a status stream per
+ * transaction all the outstanding hashes are resolved by committed blocks contents. Status queries
+ * are only performed for transactions not seen in blocks for a while.
+ */
+public class IrohaStatusTracker implements Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(IrohaStatusTracker.class);
+  private static final long POLL_PERIOD_MILLIS = 1000;
+  private static final long DEFAULT_STATUS_QUERY_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(5);
+  private static final long DEFAULT_STATUS_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+  private static final Set<TxStatus> TERMINAL_STATUSES = EnumSet.of(
+      TxStatus.STATELESS_VALIDATION_FAILED,
+      TxStatus.STATEFUL_VALIDATION_FAILED,
+      TxStatus.COMMITTED,
+      TxStatus.REJECTED,
+      TxStatus.UNRECOGNIZED
+  );
+
+  private final IrohaAPI irohaAPI;
+  private final long statusQueryDelayMillis;
+  private final long statusTimeoutMillis;
+  private final Map<String, TrackedTransaction> trackedTransactions = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService executor = createPrettyScheduledThreadPool(
+      "brvs", "status-tracker"
+  );
+
+  public IrohaStatusTracker(IrohaAPI irohaAPI, BrvsIrohaChainListener irohaChainListener) {
+    this(
+        irohaAPI,
+        irohaChainListener,
+        DEFAULT_STATUS_QUERY_DELAY_MILLIS,
+        DEFAULT_STATUS_TIMEOUT_MILLIS
+    );
+  }
+
+  /**
+   * @param irohaAPI {@link IrohaAPI} to query statuses
+   * @param irohaChainListener source of committed blocks
+   * @param statusQueryDelayMillis time a transaction may stay unseen in blocks before its status
+   * is queried
+   * @param statusTimeoutMillis time to wait for a terminal status at most
+   */
+  public IrohaStatusTracker(IrohaAPI irohaAPI,
+      BrvsIrohaChainListener irohaChainListener,
+      long statusQueryDelayMillis,
+      long statusTimeoutMillis) {
+    Objects.requireNonNull(irohaAPI, "Iroha API must not be null");
+    Objects.requireNonNull(irohaChainListener, "BrvsIrohaChainListener must not be null");
+    if (statusQueryDelayMillis < 0) {
+      throw new IllegalArgumentException("Status query delay must not be negative");
+    }
+    if (statusTimeoutMillis < 1) {
+      throw new IllegalArgumentException("Status timeout must be positive");
+    }
+
+    this.irohaAPI = irohaAPI;
+    this.statusQueryDelayMillis = statusQueryDelayMillis;
+    this.statusTimeoutMillis = statusTimeoutMillis;
+    irohaChainListener.getBlockStreaming()
+        .observeOn(Schedulers.from(executor))
+        .subscribe(
+            blockSubscription -> processBlock(blockSubscription.getBlock()),
+            throwable -> logger.error("Status tracker block processing failed", throwable)
+        );
+    executor.scheduleWithFixedDelay(
+        this::pollStatuses,
+        POLL_PERIOD_MILLIS,
+        POLL_PERIOD_MILLIS,
+        TimeUnit.MILLISECONDS
+    );
+  }
+
+  /**
+   * Registers a transaction hash to be tracked until Iroha reports a terminal status for it
+   *
+   * @param txHash transaction hash
+   * @return {@link CompletableFuture} completed with the terminal {@link ToriiResponse} or
+   * exceptionally with {@link TimeoutException} if no terminal status was reported in time
+   */
+  public CompletableFuture<ToriiResponse> track(byte[] txHash) {
+    final String hexHash = Utils.toHex(txHash).toUpperCase();
+    return trackedTransactions
+        .computeIfAbsent(hexHash, hash -> new TrackedTransaction(txHash))
+        .getFuture();
+  }
+
+  /**
+   * Stops tracking of a transaction, i.e. if it could not be sent
+   *
+   * @param txHash transaction hash
+   */
+  public void stopTracking(byte[] txHash) {
+    final TrackedTransaction trackedTransaction = trackedTransactions
+        .remove(Utils.toHex(txHash).toUpperCase());
+    if (trackedTransaction != null) {
+      trackedTransaction.getFuture().cancel(false);
+    }
+  }
+
+  /**
+   * Returns amount of transactions awaiting for a terminal status
+   *
+   * @return outstanding transactions count
+   */
+  public int getOutstandingCount() {
+    return trackedTransactions.size();
+  }
+
+  private void processBlock(Block block) {
+    if (trackedTransactions.isEmpty()) {
+      return;
+    }
+    final Payload payload = block.getBlockV1().getPayload();
+    for (Transaction transaction : payload.getTransactionsList()) {
+      final String hexHash = ValidationUtils.hexHash(transaction).toUpperCase();
+      if (trackedTransactions.containsKey(hexHash)) {
+        complete(hexHash, ToriiResponse.newBuilder()
+            .setTxHash(hexHash)
+            .setTxStatus(TxStatus.COMMITTED)
+            .build()
+        );
+      }
+    }
+    for (String rejectedHash : payload.getRejectedTransactionsHashesList()) {
+      final String hexHash = rejectedHash.toUpperCase();
+      final TrackedTransaction trackedTransaction = trackedTransactions.get(hexHash);
+      if (trackedTransaction != null) {
+        // the status is queried to get the failure details
+        complete(hexHash, queryRejectedStatus(trackedTransaction, hexHash));
+      }
+    }
+  }
+
+  private ToriiResponse queryRejectedStatus(TrackedTransaction trackedTransaction,
+      String hexHash) {
+    try {
+      final ToriiResponse response = irohaAPI.txStatusSync(trackedTransaction.getHash());
+      if (TERMINAL_STATUSES.contains(response.getTxStatus())) {
+        return response;
+      }
+    } catch (Exception e) {
+      logger.warn("Couldn't query status of rejected transaction {}", hexHash, e);
+    }
+    return ToriiResponse.newBuilder()
+        .setTxHash(hexHash)
+        .setTxStatus(TxStatus.REJECTED)
+        .build();
+  }
+
+  private void pollStatuses() {
+    final long now = System.currentTimeMillis();
+    trackedTransactions.forEach((hexHash, trackedTransaction) -> {
+      final long waitingTime = now - trackedTransaction.getCreatedTime();
+      // give blocks a chance to resolve the transaction first
+      if (waitingTime < statusQueryDelayMillis) {
+        return;
+      }
+      String lastStatus;
+      try {
+        final ToriiResponse response = irohaAPI.txStatusSync(trackedTransaction.getHash());
+        if (TERMINAL_STATUSES.contains(response.getTxStatus())) {
+          complete(hexHash, response);
+          return;
+        }
+        lastStatus = response.getTxStatus().toString();
+      } catch (Exception e) {
+        logger.warn("Couldn't query status of transaction {}", hexHash, e);
+        lastStatus = "not available, " + e.getMessage();
+      }
+      // the timeout applies even if Iroha is unreachable
+      if (waitingTime > statusTimeoutMillis) {
+        timeout(hexHash, lastStatus);
+      }
+    });
+  }
+
+  private void timeout(String hexHash, String lastStatus) {
+    final TrackedTransaction trackedTransaction = trackedTransactions.remove(hexHash);
+    if (trackedTransaction != null) {
+      trackedTransaction.getFuture().completeExceptionally(new TimeoutException(
+          "No terminal status of " + hexHash + " within " + statusTimeoutMillis
+              + "ms. Last status: " + lastStatus
+      ));
+    }
+  }
+
+  /**
+   * @return time to wait for a terminal status at most
+   */
+  public long getStatusTimeoutMillis() {
+    return statusTimeoutMillis;
+  }
+
+  private void complete(String hexHash, ToriiResponse response) {
+    final TrackedTransaction trackedTransaction = trackedTransactions.remove(hexHash);
+    if (trackedTransaction != null) {
+      trackedTransaction.getFuture().complete(response);
+    }
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Outstanding transaction data
+   */
+  private static class TrackedTransaction {
+
+    private final byte[] hash;
+    private final long createdTime = System.currentTimeMillis();
+    private final CompletableFuture<ToriiResponse> future = new CompletableFuture<>();
+
+    TrackedTransaction(byte[] hash) {
+      this.hash = hash;
+    }
+
+    byte[] getHash() {
+      return hash;
+    }
+
+    long getCreatedTime() {
+      return createdTime;
+    }
+
+    CompletableFuture<ToriiResponse> getFuture() {
+      return future;
+    }
+  }
+}
@@ -10,42 +10,78 @@ import static iroha.validation.utils.ValidationUtils.subscriptionStrategy;
 
 import com.google.gson.Gson;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
 import com.google.protobuf.util.JsonFormat;
 import com.google.protobuf.util.JsonFormat.Parser;
 import com.google.protobuf.util.JsonFormat.Printer;
+import io.reactivex.Observable;
+import io.reactivex.Single;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subjects.UnicastSubject;
 import iroha.protocol.Endpoint.ToriiResponse;
 import iroha.protocol.Endpoint.TxList;
+import iroha.protocol.Endpoint.TxStatus;
+import iroha.protocol.QryResponses.QueryResponse;
 import iroha.protocol.Queries.Query;
 import iroha.protocol.TransactionOuterClass.Transaction;
 import iroha.protocol.TransactionOuterClass.Transaction.Builder;
+import iroha.validation.config.RestServiceConfig;
 import iroha.validation.rest.dto.BinaryTransaction;
 import iroha.validation.transactions.provider.RegistrationProvider;
 import iroha.validation.transactions.provider.impl.util.CacheProvider;
+import iroha.validation.transactions.signatory.SigningEngine;
+import iroha.validation.transactions.storage.TransactionVerdict;
 import iroha.validation.transactions.storage.TransactionVerdictStorage;
 import iroha.validation.utils.ValidationUtils;
 import iroha.validation.verdict.ValidationResult;
+import iroha.validation.verdict.Verdict;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.security.KeyPair;
 import java.security.PrivateKey;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.CompletionCallback;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import jp.co.soramitsu.crypto.ed25519.EdDSAPrivateKey;
 import jp.co.soramitsu.iroha.java.IrohaAPI;
 import jp.co.soramitsu.iroha.java.Utils;
-import jp.co.soramitsu.iroha.java.detail.BuildableAndSignable;
 import org.apache.http.HttpStatus;
+import org.glassfish.jersey.server.ChunkedOutput;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.spongycastle.util.encoders.Hex;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 @Singleton
@@ -70,6 +106,14 @@ public class RestService {
       .preservingProtoFieldNames();
   private static final Parser parser = JsonFormat.parser().ignoringUnknownFields();
   private static final Gson gson = new Gson();
+  private static final String JSON_LINES_MEDIA_TYPE = "application/x-ndjson";
+  private static final String PROTOBUF_MEDIA_TYPE = "application/x-protobuf";
+  private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+  private static final Set<Verdict> FINAL_VERDICTS = EnumSet.of(
+      Verdict.VALIDATED,
+      Verdict.REJECTED,
+      Verdict.FAILED
+  );
 
   @Inject
   private RegistrationProvider registrationProvider;
@@ -85,6 +129,22 @@ public class RestService {
    */
   @Inject
   private KeyPair brvsAccountKeyPair;
+  /**
+   * Signing component holding the keypair above
+   */
+  @Inject
+  private SigningEngine signingEngine;
+  @Inject
+  private RestServiceConfig restServiceConfig;
+  /**
+   * Limits transaction requests awaiting for a terminal status
+   */
+  private Semaphore outstandingRequests;
+
+  @PostConstruct
+  public void init() {
+    outstandingRequests = new Semaphore(restServiceConfig.getMaxOutstandingRequests());
+  }
 
   @GET
   @Path("/actuator/health")
@@ -104,6 +164,124 @@ public class RestService {
     return Response.status(HttpStatus.SC_OK).entity(transactionVerdict).build();
   }
 
+  /**
+   * Resolves verdicts of many transactions using a single storage lookup
+   *
+   * @param jsonBody JSON object with the hashes array, i.e. {"hashes": ["hash1", "hash2"]}
+   * @return {@link Response HTTP} {@link HttpStatus 200} with verdicts by upper case transactions
+   * hashes, unknown transactions are reported as UNKNOWN <br> {@link Response HTTP} {@link
+   * HttpStatus 422} if JSON supplied is incorrect
+   */
+  @POST
+  @Path("/status")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response getStatuses(String jsonBody) {
+    try {
+      final HashesJsonWrapper hashesWrapper = ValidationUtils.gson
+          .fromJson(jsonBody, HashesJsonWrapper.class);
+      if (hashesWrapper == null || CollectionUtils.isEmpty(hashesWrapper.getHashes())) {
+        throw new IllegalArgumentException("Hashes must not be neither null nor empty");
+      }
+      final Set<String> hashes = hashesWrapper.getHashes()
+          .stream()
+          .map(String::toUpperCase)
+          .collect(Collectors.toSet());
+      return Response.status(HttpStatus.SC_OK)
+          .entity(ValidationUtils.gson.toJson(getVerdicts(hashes)))
+          .build();
+    } catch (Exception e) {
+      logger.error("Error during statuses query", e);
+      return Response.status(HttpStatus.SC_UNPROCESSABLE_ENTITY).build();
+    }
+  }
+
+  private Map<String, ValidationResult> getVerdicts(Set<String> upperCaseHashes) {
+    final Map<String, ValidationResult> verdicts = new HashMap<>(
+        verdictStorage.getTransactionVerdicts(upperCaseHashes)
+    );
+    upperCaseHashes.forEach(hash -> verdicts.putIfAbsent(hash, ValidationResult.UNKNOWN));
+    return verdicts;
+  }
+
+  /**
+   * Streams verdicts of the transactions requested as JSON lines. Current verdicts are written
+   * first, then every verdict change is pushed as soon as it is stored. The stream is closed once
+   * every transaction has a final verdict (validated, rejected or failed) or when the status timeout
+   * elapses. Open streams are counted as outstanding requests, so {@link HttpStatus 503} is
+   * returned if the limit is reached.
+   *
+   * @param hashes transactions hashes
+   * @return {@link ChunkedOutput} of {@link TransactionVerdict} JSON lines
+   */
+  @GET
+  @Path("/status/stream")
+  @Produces(JSON_LINES_MEDIA_TYPE)
+  public ChunkedOutput<String> streamStatuses(@QueryParam("hash") List<String> hashes) {
+    if (hashes == null || hashes.isEmpty()) {
+      throw new WebApplicationException(HttpStatus.SC_UNPROCESSABLE_ENTITY);
+    }
+    if (!outstandingRequests.tryAcquire()) {
+      logger.warn("Outstanding transaction requests limit {} is reached",
+          restServiceConfig.getMaxOutstandingRequests()
+      );
+      throw new WebApplicationException(HttpStatus.SC_SERVICE_UNAVAILABLE);
+    }
+    final Set<String> requestedHashes = hashes.stream()
+        .map(String::toUpperCase)
+        .collect(Collectors.toSet());
+    final Set<String> awaitedHashes = ConcurrentHashMap.newKeySet();
+    awaitedHashes.addAll(requestedHashes);
+    // subscribed before current verdicts are read not to miss changes in between
+    // changes are buffered only until current verdicts are written, then they are passed through
+    final UnicastSubject<TransactionVerdict> changes = UnicastSubject.create();
+    final Disposable changesConnection;
+    try {
+      changesConnection = verdictStorage
+          .getVerdictsStreaming()
+          .filter(verdict -> requestedHashes.contains(verdict.getTxHash()))
+          .subscribe(changes::onNext, changes::onError, changes::onComplete);
+    } catch (RuntimeException e) {
+      outstandingRequests.release();
+      throw e;
+    }
+    final Observable<TransactionVerdict> currentVerdicts = Observable
+        .fromCallable(() -> getVerdicts(requestedHashes))
+        .flatMapIterable(Map::entrySet)
+        .map(entry -> new TransactionVerdict(entry.getKey(), entry.getValue()));
+    final ChunkedOutput<String> output = new ChunkedOutput<>(String.class);
+    Observable.concat(currentVerdicts, changes)
+        .subscribeOn(Schedulers.io())
+        .takeUntil(verdict -> {
+          if (FINAL_VERDICTS.contains(verdict.getResult().getStatus())) {
+            awaitedHashes.remove(verdict.getTxHash());
+          }
+          return awaitedHashes.isEmpty();
+        })
+        .takeUntil(Observable.timer(restServiceConfig.getStatusTimeoutMillis(),
+            TimeUnit.MILLISECONDS)
+        )
+        .doFinally(() -> {
+          changesConnection.dispose();
+          closeQuietly(output);
+          outstandingRequests.release();
+        })
+        .subscribe(
+            // throws if the client has gone so the stream is disposed
+            verdict -> output.write(gson.toJson(verdict) + "\n"),
+            throwable -> logger.warn("Verdicts stream of {} is closed", requestedHashes, throwable)
+        );
+    return output;
+  }
+
+  private void closeQuietly(ChunkedOutput<String> output) {
+    try {
+      output.close();
+    } catch (IOException e) {
+      logger.warn("Couldn't close verdicts stream", e);
+    }
+  }
+
   @POST
   @Path("/register/{accountId}")
   public Response register(@PathParam("accountId") String accountId) {
@@ -128,8 +306,7 @@ public class RestService {
         throw new IllegalArgumentException("Invalid input");
       }
       final boolean isRegistered = registrationProvider.getRegisteredAccounts()
-          .stream()
-          .anyMatch(registeredAccount -> registeredAccount.equals(accountId));
+          .contains(accountId);
       return Response.status(HttpStatus.SC_OK)
           .entity(ValidationUtils.gson.toJson(new AccountRegisteredBooleanWrapper(isRegistered)))
           .build();
@@ -138,69 +315,126 @@ public class RestService {
     }
   }
 
+  /**
+   * Checks registration of many accounts at once
+   *
+   * @param jsonBody JSON object with the account ids array, i.e. {"accountIds": ["a@d", "b@d"]}
+   * @return {@link Response HTTP} {@link HttpStatus 200} with registration flags by account ids
+   * <br> {@link Response HTTP} {@link HttpStatus 422} if JSON supplied is incorrect
+   */
+  @POST
+  @Path("/isRegistered/batch")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response areRegistered(String jsonBody) {
+    try {
+      final AccountIdsJsonWrapper accountIdsWrapper = ValidationUtils.gson
+          .fromJson(jsonBody, AccountIdsJsonWrapper.class);
+      if (accountIdsWrapper == null || CollectionUtils.isEmpty(accountIdsWrapper.getAccountIds())) {
+        throw new IllegalArgumentException("Account ids must not be neither null nor empty");
+      }
+      final Set<String> registeredAccounts = registrationProvider.getRegisteredAccounts();
+      final Map<String, Boolean> registered = new HashMap<>();
+      for (String accountId : accountIdsWrapper.getAccountIds()) {
+        if (StringUtils.isEmpty(accountId)) {
+          throw new IllegalArgumentException("Invalid input");
+        }
+        registered.put(accountId, registeredAccounts.contains(accountId));
+      }
+      return Response.status(HttpStatus.SC_OK)
+          .entity(ValidationUtils.gson.toJson(registered))
+          .build();
+    } catch (Exception e) {
+      return Response.status(HttpStatus.SC_UNPROCESSABLE_ENTITY).entity(e).build();
+    }
+  }
+
   @POST
   @Path("/transaction/send")
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  public Response sendTransactionNoSign(String transaction) {
-    return buildResponse(transaction, tx -> {
-      final Transaction builtTx = buildTransaction(tx);
-      return sendBuiltTransaction(builtTx);
-    });
+  public void sendTransactionNoSign(String transaction,
+      @Suspended AsyncResponse asyncResponse) {
+    buildAsyncResponse(transaction, this::buildTransaction, asyncResponse);
   }
 
   @POST
   @Path("/transaction/send/sign")
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  public Response sendTransactionSign(String transaction) {
-    return buildResponse(transaction, tx -> {
+  public void sendTransactionSign(String transaction,
+      @Suspended AsyncResponse asyncResponse) {
+    buildAsyncResponse(transaction, tx -> {
       final Transaction builtTx = buildTransaction(tx);
-      final Transaction signedTx = signTransaction(builtTx);
-      return sendBuiltTransaction(signedTx);
-    });
+      return signTransaction(builtTx);
+    }, asyncResponse);
   }
 
   @POST
   @Path("/transaction/send/signCustom")
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  public Response sendTransactionSignCustom(String jsonBody) {
+  public void sendTransactionSignCustom(String jsonBody,
+      @Suspended AsyncResponse asyncResponse) {
     final TransactionWithSignatoriesJsonWrapper transactionWrapper = ValidationUtils.gson
         .fromJson(jsonBody, TransactionWithSignatoriesJsonWrapper.class);
-    return buildResponse(transactionWrapper, tx -> {
+    buildAsyncResponse(transactionWrapper, tx -> {
       final Transaction builtTx = buildTransaction(tx.getTransaction());
-      final Transaction signedTx = signTransactionWithCustomKeys(
+      return signTransactionWithCustomKeys(
           builtTx,
           transactionWrapper.getKeys()
       );
-      return sendBuiltTransaction(signedTx);
-    });
+    }, asyncResponse);
+  }
+
+  @POST
+  @Path("/transaction/send")
+  @Consumes({PROTOBUF_MEDIA_TYPE, MediaType.APPLICATION_OCTET_STREAM})
+  @Produces({PROTOBUF_MEDIA_TYPE, MediaType.APPLICATION_OCTET_STREAM})
+  public void sendProtoTransactionNoSign(byte[] transaction,
+      @Suspended AsyncResponse asyncResponse) {
+    buildAsyncResponse(transaction,
+        this::buildTransaction,
+        asyncResponse,
+        this::buildProtoStatusResponse
+    );
+  }
+
+  @POST
+  @Path("/transaction/send/sign")
+  @Consumes({PROTOBUF_MEDIA_TYPE, MediaType.APPLICATION_OCTET_STREAM})
+  @Produces({PROTOBUF_MEDIA_TYPE, MediaType.APPLICATION_OCTET_STREAM})
+  public void sendProtoTransactionSign(byte[] transaction,
+      @Suspended AsyncResponse asyncResponse) {
+    buildAsyncResponse(transaction, tx -> {
+      final Transaction builtTx = buildTransaction(tx);
+      return signTransaction(builtTx);
+    }, asyncResponse, this::buildProtoStatusResponse);
   }
 
   @POST
   @Path("/transaction/sendBinary")
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  public Response sendTransactionBinaryNoSign(String jsonBinaryTx) {
-    return buildResponse(jsonBinaryTx, tx -> {
+  public void sendTransactionBinaryNoSign(String jsonBinaryTx,
+      @Suspended AsyncResponse asyncResponse) {
+    buildAsyncResponse(jsonBinaryTx, tx -> {
       byte[] bytes = decode(jsonBinaryTx);
-      final Transaction builtTx = buildTransaction(bytes);
-      return sendBuiltTransaction(builtTx);
-    });
+      return buildTransaction(bytes);
+    }, asyncResponse);
   }
 
   @POST
   @Path("/transaction/sendBinary/sign")
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  public Response sendTransactionBinarySign(String jsonBinaryTx) {
-    return buildResponse(jsonBinaryTx, tx -> {
+  public void sendTransactionBinarySign(String jsonBinaryTx,
+      @Suspended AsyncResponse asyncResponse) {
+    buildAsyncResponse(jsonBinaryTx, tx -> {
       byte[] bytes = decode(jsonBinaryTx);
       final Transaction builtTx = buildTransaction(bytes);
-      final Transaction signedTx = signTransaction(builtTx);
-      return sendBuiltTransaction(signedTx);
-    });
+      return signTransaction(builtTx);
+    }, asyncResponse);
   }
 
   /**
@@ -240,9 +474,7 @@ public class RestService {
   private Transaction signTransaction(Transaction builtTx) {
     final String hash = Utils.toHexHash(builtTx);
     logger.info("Going to sign transaction: {}", hash);
-    return jp.co.soramitsu.iroha.java.Transaction.parseFrom(builtTx)
-        .sign(brvsAccountKeyPair)
-        .build();
+    return signingEngine.sign(builtTx);
   }
 
   /**
@@ -256,39 +488,81 @@ public class RestService {
       List<String> privateKeys) {
     final String hash = Utils.toHexHash(builtTx);
     logger.info("Going to sign transaction: {} with custom key pairs", hash);
-    final BuildableAndSignable<Transaction> transaction = jp.co.soramitsu.iroha.java.Transaction
-        .parseFrom(builtTx);
-    privateKeys.forEach(key -> {
-      final PrivateKey privateKey = Utils.parseHexPrivateKey(key);
-      final KeyPair keyPair = new KeyPair(
-          derivePublicKey((EdDSAPrivateKey) privateKey),
-          privateKey
-      );
-      transaction.sign(keyPair);
-    });
-    return transaction.build();
+    final List<KeyPair> keyPairs = privateKeys.stream()
+        .map(key -> {
+          final PrivateKey privateKey = Utils.parseHexPrivateKey(key);
+          return new KeyPair(
+              derivePublicKey((EdDSAPrivateKey) privateKey),
+              privateKey
+          );
+        })
+        .collect(Collectors.toList());
+    return signingEngine.sign(builtTx, keyPairs);
   }
 
   /**
-   * Performs gRPC call to send transaction.
+   * Performs gRPC call to send transaction. The call is made on the io scheduler like the batch
+   * one and the status stream is observed without blocking.
    *
    * @param transaction - proto transaction
-   * @return ToriiResponse with transaction status stream
+   * @return {@link Single} emitting the terminal transaction status
    */
-  private ToriiResponse sendBuiltTransaction(Transaction transaction) {
+  private Single<ToriiResponse> sendBuiltTransaction(Transaction transaction) {
     final String hash = Utils.toHexHash(transaction);
     checkTransactionSignaturesCount(transaction);
     logger.info("Going to send transaction: {}", hash);
-    return irohaAPI.transaction(transaction, subscriptionStrategy)
-        .blockingLast();
+    // the transaction is sent synchronously on the call, so it is deferred to the subscription
+    return Observable.defer(() -> irohaAPI.transaction(transaction, subscriptionStrategy))
+        .subscribeOn(Schedulers.io())
+        .lastOrError();
   }
 
+  /**
+   * Lists transactions queued by BRVS. The cache is only locked to take a snapshot of it, the
+   * transactions are printed to the response stream one by one afterwards.
+   *
+   * @param accountId account which queue to list, all the queues are listed if empty
+   * @param offset amount of transactions to skip
+   * @param limit maximum amount of transactions to list, not limited if null
+   * @return {@link Response HTTP} {@link HttpStatus 200} with JSONed TxList proto and the total
+   * amount of transactions in {@link #TOTAL_COUNT_HEADER} header <br> {@link Response HTTP}
+   * {@link HttpStatus 422} if pagination parameters are negative
+   */
   @GET
   @Path("/transactions")
   @Produces(MediaType.APPLICATION_JSON)
-  public Response getTransactions() throws InvalidProtocolBufferException {
+  public Response getTransactions(@QueryParam("accountId") String accountId,
+      @QueryParam("offset") @DefaultValue("0") int offset,
+      @QueryParam("limit") Integer limit) {
+    if (offset < 0 || (limit != null && limit < 0)) {
+      return Response.status(HttpStatus.SC_UNPROCESSABLE_ENTITY).build();
+    }
+    final List<Transaction> transactions = cacheProvider
+        .getTransactions(StringUtils.isEmpty(accountId) ? null : accountId);
+    final int totalCount = transactions.size();
+    final int fromIndex = Math.min(offset, totalCount);
+    final int toIndex = limit == null ? totalCount
+        : (int) Math.min((long) fromIndex + limit, totalCount);
+    final List<Transaction> page = transactions.subList(fromIndex, toIndex);
+    final StreamingOutput output = outputStream -> {
+      final Writer writer = new BufferedWriter(
+          new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)
+      );
+      // the same layout TxList proto is printed with
+      writer.write("{\"transactions\":[");
+      for (int i = 0; i < page.size(); i++) {
+        if (i > 0) {
+          writer.write(',');
+        }
+        printer.appendTo(page.get(i), writer);
+      }
+      writer.write("]}");
+      writer.flush();
+    };
     return Response.status(HttpStatus.SC_OK)
-        .entity(printer.print(Utils.createTxList(cacheProvider.getTransactions()))).build();
+        .entity(output)
+        .header(TOTAL_COUNT_HEADER, totalCount)
+        .build();
   }
 
   @POST
@@ -307,6 +581,22 @@ public class RestService {
     return executeQueryWithSigning(query);
   }
 
+  @POST
+  @Path("/query/send")
+  @Consumes({PROTOBUF_MEDIA_TYPE, MediaType.APPLICATION_OCTET_STREAM})
+  @Produces({PROTOBUF_MEDIA_TYPE, MediaType.APPLICATION_OCTET_STREAM})
+  public Response sendProtoQueryNoSign(byte[] query) {
+    return sendQuery(query, Query::parseFrom, false, this::buildProtoResponse);
+  }
+
+  @POST
+  @Path("/query/send/sign")
+  @Consumes({PROTOBUF_MEDIA_TYPE, MediaType.APPLICATION_OCTET_STREAM})
+  @Produces({PROTOBUF_MEDIA_TYPE, MediaType.APPLICATION_OCTET_STREAM})
+  public Response sendProtoQuerySign(byte[] query) {
+    return sendQuery(query, Query::parseFrom, true, this::buildProtoResponse);
+  }
+
   private Response executeQueryWithSigning(String query) {
     return sendQuery(query, true);
   }
@@ -328,10 +618,36 @@ public class RestService {
    * <br> {@link Response HTTP} {@link HttpStatus 500} if any other error occurred
    */
   private Response sendQuery(String query, boolean sign) {
-    try {
+    return sendQuery(query, jsonQuery -> {
       final Query.Builder builder = Query.newBuilder();
-      parser.merge(query, builder);
-      Query queryToSend = builder.build();
+      parser.merge(jsonQuery, builder);
+      return builder.build();
+    }, sign, queryResponse -> Response.status(HttpStatus.SC_OK)
+        .entity(printer.print(queryResponse))
+        .build());
+  }
+
+  /**
+   * Parses Iroha query with the parser given and performs gRPC call to execute it. If sign
+   * parameter is set to true the query is additionally signed with brvs key.
+   *
+   * @param query serialized query
+   * @param queryParser parser of the serialized query
+   * @param sign sign flag
+   * @param responseBuilder builder of {@link Response HTTP} {@link HttpStatus 200} with query
+   * execution result
+   * @param <T> serialized query type
+   * @return {@link Response HTTP} {@link HttpStatus 200} with query execution result <br> {@link
+   * Response HTTP} {@link HttpStatus 422} if the query supplied is incorrect or there is no
+   * signature before sending
+   * <br> {@link Response HTTP} {@link HttpStatus 500} if any other error occurred
+   */
+  private <T> Response sendQuery(T query,
+      CheckedFunction<T, Query> queryParser,
+      boolean sign,
+      CheckedFunction<QueryResponse, Response> responseBuilder) {
+    try {
+      Query queryToSend = queryParser.apply(query);
       if (sign) {
         queryToSend = new jp.co.soramitsu.iroha.java.Query(queryToSend)
             .buildSigned(brvsAccountKeyPair);
@@ -340,8 +656,7 @@ public class RestService {
         final String msg = "Query does not have signature";
         throw new IllegalArgumentException(msg);
       }
-      return Response.status(HttpStatus.SC_OK).entity(printer.print(irohaAPI.query(queryToSend)))
-          .build();
+      return responseBuilder.apply(irohaAPI.query(queryToSend));
     } catch (InvalidProtocolBufferException | IllegalArgumentException e) {
       logger.error("Error during query processing", e);
       return Response.status(HttpStatus.SC_UNPROCESSABLE_ENTITY).build();
@@ -355,48 +670,64 @@ public class RestService {
   @Path("/batch/send")
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  public Response sendTransactionsBatchNoSign(String transactionList) {
-    return buildResponse(transactionList, tx -> {
-      List<Transaction> builtTransactions = buildBatch(tx);
-      return sendBuiltBatch(builtTransactions);
-    });
+  public void sendTransactionsBatchNoSign(String transactionList,
+      @Suspended AsyncResponse asyncResponse) {
+    buildAsyncBatchResponse(transactionList, this::buildBatch, false, asyncResponse);
   }
 
   @POST
   @Path("/batch/send/sign")
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  public Response sendTransactionsBatchWithSign(String transactionList) {
-    return buildResponse(transactionList, tx -> {
-      List<Transaction> builtTransactions = buildBatch(tx);
-      List<Transaction> signedTransactions = signBatch(builtTransactions);
-      return sendBuiltBatch(signedTransactions);
-    });
+  public void sendTransactionsBatchWithSign(String transactionList,
+      @Suspended AsyncResponse asyncResponse) {
+    buildAsyncBatchResponse(transactionList, this::buildBatch, true, asyncResponse);
+  }
+
+  @POST
+  @Path("/batch/send")
+  @Consumes({PROTOBUF_MEDIA_TYPE, MediaType.APPLICATION_OCTET_STREAM})
+  @Produces({PROTOBUF_MEDIA_TYPE, MediaType.APPLICATION_OCTET_STREAM})
+  public void sendProtoBatchNoSign(byte[] transactionList,
+      @Suspended AsyncResponse asyncResponse) {
+    buildAsyncBatchResponse(transactionList,
+        this::buildBatch,
+        false,
+        asyncResponse,
+        this::buildProtoStatusResponse
+    );
+  }
+
+  @POST
+  @Path("/batch/send/sign")
+  @Consumes({PROTOBUF_MEDIA_TYPE, MediaType.APPLICATION_OCTET_STREAM})
+  @Produces({PROTOBUF_MEDIA_TYPE, MediaType.APPLICATION_OCTET_STREAM})
+  public void sendProtoBatchWithSign(byte[] transactionList,
+      @Suspended AsyncResponse asyncResponse) {
+    buildAsyncBatchResponse(transactionList,
+        this::buildBatch,
+        true,
+        asyncResponse,
+        this::buildProtoStatusResponse
+    );
   }
 
   @POST
   @Path("/batch/sendBinary")
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  public Response sendBatchBinaryNoSign(String jsonBinaryList) {
-    return buildResponse(jsonBinaryList, tx -> {
-      byte[] bytes = decode(jsonBinaryList);
-      List<Transaction> builtTransactions = buildBatch(bytes);
-      return sendBuiltBatch(builtTransactions);
-    });
+  public void sendBatchBinaryNoSign(String jsonBinaryList,
+      @Suspended AsyncResponse asyncResponse) {
+    buildAsyncBatchResponse(jsonBinaryList, tx -> buildBatch(decode(tx)), false, asyncResponse);
   }
 
   @POST
   @Path("/batch/sendBinary/sign")
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  public Response sendBatchBinarySign(String jsonBinaryList) {
-    return buildResponse(jsonBinaryList, tx -> {
-      byte[] bytes = decode(jsonBinaryList);
-      List<Transaction> builtTransactions = buildBatch(bytes);
-      List<Transaction> signedTransactions = signBatch(builtTransactions);
-      return sendBuiltBatch(signedTransactions);
-    });
+  public void sendBatchBinarySign(String jsonBinaryList,
+      @Suspended AsyncResponse asyncResponse) {
+    buildAsyncBatchResponse(jsonBinaryList, tx -> buildBatch(decode(tx)), true, asyncResponse);
   }
 
   /**
@@ -439,44 +770,63 @@ public class RestService {
         .getTransactionsList();
   }
 
+  /**
+   * Computes payload hashes of batch transactions. Signatures do not change them so they are
+   * computed once per request
+   *
+   * @param txList - protobuf transaction list
+   * @return transactions hashes in the same order
+   */
+  private List<byte[]> hashBatch(List<Transaction> txList) {
+    return txList.stream().map(Utils::hash).collect(Collectors.toList());
+  }
+
   /**
    * Sign batch transactions with brvs key if there is a signature slot for that
    *
    * @param txList - protobuf transaction list
+   * @param hashes - transactions hashes
    * @return signed protobuf transaction list
    */
-  private List<Transaction> signBatch(List<Transaction> txList) {
-    final String batchHashes = txList.stream().map(Utils::toHexHash)
-        .collect(Collectors.joining(","));
-    logger.info("Going to sign transaction batch: {}", batchHashes);
-    return txList.stream()
-        .map(transaction -> {
-          final int signaturesCount = transaction.getSignaturesCount();
-          final int quorum = transaction.getPayload().getReducedPayload().getQuorum();
-          if (signaturesCount < quorum) {
-            return jp.co.soramitsu.iroha.java.Transaction.parseFrom(transaction)
-                .sign(brvsAccountKeyPair)
-                .build();
-          } else {
-            return transaction;
-          }
-        }).collect(Collectors.toList());
+  private List<Transaction> signBatch(List<Transaction> txList, List<byte[]> hashes) {
+    logger.info("Going to sign transaction batch: {}", toHexHashes(hashes));
+    return signingEngine.signBatch(txList, hashes, transaction -> {
+      final int signaturesCount = transaction.getSignaturesCount();
+      final int quorum = transaction.getPayload().getReducedPayload().getQuorum();
+      if (signaturesCount < quorum) {
+        return Collections.singletonList(brvsAccountKeyPair);
+      } else {
+        return Collections.emptyList();
+      }
+    });
   }
 
   /**
-   * Performs gRPC call to send transaction.
+   * Performs gRPC call to send transaction batch. The call is made on the io scheduler so the
+   * request thread is not blocked. Does not wait for the batch to be processed, statuses are
+   * supposed to be followed with status endpoints.
    *
-   * @return ToriiResponse with transaction status stream
+   * @param txList - protobuf transaction list
+   * @param hashes - transactions hashes
+   * @return {@link Single} of {@link TxStatus#ENOUGH_SIGNATURES_COLLECTED} status of the first
+   * transaction emitted once the batch is accepted by Iroha
    */
-  private ToriiResponse sendBuiltBatch(List<Transaction> txList) {
-    final String batchHashes = txList.stream().map(Utils::toHexHash)
-        .collect(Collectors.joining(","));
+  private Single<ToriiResponse> sendBuiltBatch(List<Transaction> txList, List<byte[]> hashes) {
+    final String batchHashes = toHexHashes(hashes);
     txList.forEach(this::checkTransactionSignaturesCount);
     logger.info("Going to send transaction batch: {}", batchHashes);
-    irohaAPI.transactionListSync(txList);
-    return subscriptionStrategy
-        .subscribe(irohaAPI, Utils.hash(txList.get(0)))
-        .blockingLast();
+    return Single.fromCallable(() -> {
+      irohaAPI.transactionListSync(txList);
+      // signatures count is checked before sending
+      return ToriiResponse.newBuilder()
+          .setTxHash(Utils.toHex(hashes.get(0)))
+          .setTxStatus(TxStatus.ENOUGH_SIGNATURES_COLLECTED)
+          .build();
+    }).subscribeOn(Schedulers.io());
+  }
+
+  private String toHexHashes(List<byte[]> hashes) {
+    return hashes.stream().map(Utils::toHex).collect(Collectors.joining(","));
   }
 
   private void checkTransactionSignaturesCount(Transaction transaction) {
@@ -491,29 +841,140 @@ public class RestService {
   }
 
   /**
-   * Build HTTP REST response with handler.
+   * Build HTTP REST response asynchronously. The request is resumed once the transaction reaches a
+   * terminal status, so no server thread is blocked meanwhile.
    *
    * @param requestedTx - requested transaction
-   * @param handler - handler for requested transaction
+   * @param handler - handler building the transaction to send
+   * @param asyncResponse - suspended response to resume
    * @param <T> - parameter of requested transaction
-   * @return {@link Response HTTP} {@link HttpStatus 200} with transaction status stream <br> {@link
-   * Response HTTP} {@link HttpStatus 422} if JSON supplied is incorrect or quorum is not satisfied
-   * before sending
-   * <br> {@link Response HTTP} {@link HttpStatus 500} if any other error occurred
+   * <br> Resumes with {@link Response HTTP} {@link HttpStatus 200} with the terminal transaction
+   * status <br> {@link Response HTTP} {@link HttpStatus 422} if JSON supplied is incorrect or
+   * quorum is not satisfied before sending <br> {@link Response HTTP} {@link HttpStatus 503} if
+   * there are too many outstanding requests <br> {@link Response HTTP} {@link HttpStatus 504} if
+   * no terminal status is got within the timeout <br> {@link Response HTTP} {@link HttpStatus 500}
+   * if any other error occurred
    */
-  private <T> Response buildResponse(T requestedTx, CheckedFunction<T, ToriiResponse> handler) {
+  private <T> void buildAsyncResponse(T requestedTx,
+      CheckedFunction<T, Transaction> handler,
+      AsyncResponse asyncResponse) {
+    buildAsyncResponse(requestedTx, handler, asyncResponse, this::buildStatusResponse);
+  }
+
+  private <T> void buildAsyncResponse(T requestedTx,
+      CheckedFunction<T, Transaction> handler,
+      AsyncResponse asyncResponse,
+      Function<ToriiResponse, Response> statusResponseBuilder) {
+    subscribeAsyncResponse(requestedTx,
+        tx -> sendBuiltTransaction(handler.apply(tx)),
+        asyncResponse,
+        statusResponseBuilder
+    );
+  }
+
+  /**
+   * Build HTTP REST response for a transaction batch asynchronously. Behaves the same way as
+   * {@link #buildAsyncResponse(Object, CheckedFunction, AsyncResponse)} but is resumed as soon as
+   * the batch is accepted by Iroha, with the first transaction hash and
+   * {@link TxStatus#ENOUGH_SIGNATURES_COLLECTED} status.
+   *
+   * @param requestedBatch - requested transaction batch
+   * @param handler - handler building the batch to send
+   * @param sign - whether the batch should be signed with brvs key
+   * @param asyncResponse - suspended response to resume
+   * @param <T> - parameter of requested batch
+   */
+  private <T> void buildAsyncBatchResponse(T requestedBatch,
+      CheckedFunction<T, List<Transaction>> handler,
+      boolean sign,
+      AsyncResponse asyncResponse) {
+    buildAsyncBatchResponse(requestedBatch,
+        handler,
+        sign,
+        asyncResponse,
+        this::buildStatusResponse
+    );
+  }
+
+  private <T> void buildAsyncBatchResponse(T requestedBatch,
+      CheckedFunction<T, List<Transaction>> handler,
+      boolean sign,
+      AsyncResponse asyncResponse,
+      Function<ToriiResponse, Response> statusResponseBuilder) {
+    subscribeAsyncResponse(requestedBatch, batch -> {
+      final List<Transaction> builtTransactions = handler.apply(batch);
+      final List<byte[]> hashes = hashBatch(builtTransactions);
+      final List<Transaction> transactions =
+          sign ? signBatch(builtTransactions, hashes) : builtTransactions;
+      return sendBuiltBatch(transactions, hashes);
+    }, asyncResponse, statusResponseBuilder);
+  }
+
+  private <T> void subscribeAsyncResponse(T requested,
+      CheckedFunction<T, Single<ToriiResponse>> sender,
+      AsyncResponse asyncResponse,
+      Function<ToriiResponse, Response> statusResponseBuilder) {
+    if (!outstandingRequests.tryAcquire()) {
+      logger.warn("Outstanding transaction requests limit {} is reached",
+          restServiceConfig.getMaxOutstandingRequests()
+      );
+      asyncResponse.resume(Response.status(HttpStatus.SC_SERVICE_UNAVAILABLE).build());
+      return;
+    }
+    final AtomicReference<Disposable> subscription = new AtomicReference<>();
+    asyncResponse.register((CompletionCallback) throwable -> {
+      outstandingRequests.release();
+      final Disposable disposable = subscription.get();
+      if (disposable != null) {
+        disposable.dispose();
+      }
+    });
+    asyncResponse.setTimeoutHandler(response -> {
+      logger.warn("Transaction status is not got within {}ms",
+          restServiceConfig.getStatusTimeoutMillis()
+      );
+      response.resume(Response.status(HttpStatus.SC_GATEWAY_TIMEOUT).build());
+    });
+    asyncResponse.setTimeout(restServiceConfig.getStatusTimeoutMillis(), TimeUnit.MILLISECONDS);
     try {
-      ToriiResponse res = handler.apply(requestedTx);
-      String status = printer.print(res);
+      subscription.set(sender.apply(requested).subscribe(
+          status -> asyncResponse.resume(statusResponseBuilder.apply(status)),
+          throwable -> asyncResponse.resume(buildErrorResponse(throwable))
+      ));
+    } catch (Exception e) {
+      asyncResponse.resume(buildErrorResponse(e));
+    }
+  }
+
+  private Response buildStatusResponse(ToriiResponse toriiResponse) {
+    try {
+      String status = printer.print(toriiResponse);
       logger.info("Got transaction status {}", status);
       return Response.status(HttpStatus.SC_OK).entity(status).build();
-    } catch (InvalidProtocolBufferException | IllegalArgumentException e) {
-      logger.error("Error during transaction processing", e);
+    } catch (InvalidProtocolBufferException e) {
+      return buildErrorResponse(e);
+    }
+  }
+
+  private Response buildProtoStatusResponse(ToriiResponse toriiResponse) {
+    logger.info("Got transaction {} status {}",
+        toriiResponse.getTxHash(),
+        toriiResponse.getTxStatus()
+    );
+    return buildProtoResponse(toriiResponse);
+  }
+
+  private Response buildProtoResponse(MessageLite message) {
+    return Response.status(HttpStatus.SC_OK).entity(message.toByteArray()).build();
+  }
+
+  private Response buildErrorResponse(Throwable throwable) {
+    logger.error("Error during transaction processing", throwable);
+    if (throwable instanceof InvalidProtocolBufferException
+        || throwable instanceof IllegalArgumentException) {
       return Response.status(HttpStatus.SC_UNPROCESSABLE_ENTITY).build();
-    } catch (Exception e) {
-      logger.error("Error during transaction processing", e);
-      return Response.status(HttpStatus.SC_INTERNAL_SERVER_ERROR).build();
     }
+    return Response.status(HttpStatus.SC_INTERNAL_SERVER_ERROR).build();
   }
 
   /**
@@ -528,6 +989,18 @@ public class RestService {
     }
   }
 
+  /**
+   * A simple wrapper class for (de)serializing JSONed account ids
+   */
+  private class AccountIdsJsonWrapper {
+
+    private List<String> accountIds;
+
+    List<String> getAccountIds() {
+      return accountIds;
+    }
+  }
+
   /**
    * A simple wrapper class for (de)serializing JSONed boolean result
    */
@@ -540,6 +1013,18 @@ public class RestService {
     }
   }
 
+  /**
+   * A simple wrapper class for (de)serializing JSONed transactions hashes
+   */
+  private class HashesJsonWrapper {
+
+    private List<String> hashes;
+
+    List<String> getHashes() {
+      return hashes;
+    }
+  }
+
   /**
    * A simple wrapper class for (de)serializing JSONed transaction with custom keys to be signed
    * with
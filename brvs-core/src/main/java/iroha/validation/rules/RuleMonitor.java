@@ -9,12 +9,15 @@ import static com.d3.commons.util.ThreadUtilKt.createPrettySingleThreadPool;
 
 import io.reactivex.Scheduler;
 import io.reactivex.schedulers.Schedulers;
+import iroha.protocol.BlockOuterClass.Block;
 import iroha.protocol.Commands.Command;
 import iroha.protocol.Commands.SetAccountDetail;
 import iroha.protocol.TransactionOuterClass.Transaction.Payload.ReducedPayload;
 import iroha.validation.listener.BrvsIrohaChainListener;
 import iroha.validation.utils.ValidationUtils;
 import iroha.validation.validators.Validator;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import jp.co.soramitsu.iroha.java.QueryAPI;
@@ -39,6 +42,7 @@ public class RuleMonitor {
   private final String settingsAccountId;
   private final String setterAccountId;
   private final Validator validator;
+  private final List<BlockProcessor> blockProcessors;
   private boolean isStarted;
 
   public RuleMonitor(QueryAPI queryAPI,
@@ -47,6 +51,27 @@ public class RuleMonitor {
       String settingsAccountId,
       String setterAccountId,
       Validator validator) {
+    this(queryAPI,
+        irohaChainListener,
+        repositoryAccountId,
+        settingsAccountId,
+        setterAccountId,
+        validator,
+        Collections.emptyList()
+    );
+  }
+
+  /**
+   * @param blockProcessors {@link BlockProcessor} list keeping rules data up to date, every
+   * committed block is passed to them in order
+   */
+  public RuleMonitor(QueryAPI queryAPI,
+      BrvsIrohaChainListener irohaChainListener,
+      String repositoryAccountId,
+      String settingsAccountId,
+      String setterAccountId,
+      Validator validator,
+      List<BlockProcessor> blockProcessors) {
     this.queryAPI = queryAPI;
     Objects.requireNonNull(queryAPI, "QueryAPI must not be null");
     Objects.requireNonNull(irohaChainListener, "IrohaChainListener must not be null");
@@ -62,12 +87,14 @@ public class RuleMonitor {
       throw new IllegalArgumentException("Setter account ID must not be neither null nor empty");
     }
     Objects.requireNonNull(validator, "ValidationServiceContext must not be null");
+    Objects.requireNonNull(blockProcessors, "Block processors must not be null");
 
     this.irohaChainListener = irohaChainListener;
     this.repositoryAccountId = repositoryAccountId;
     this.settingsAccountId = settingsAccountId;
     this.setterAccountId = setterAccountId;
     this.validator = validator;
+    this.blockProcessors = blockProcessors;
   }
 
   /**
@@ -78,26 +105,43 @@ public class RuleMonitor {
       return;
     }
     logger.info("Starting rules updates monitoring");
-    irohaChainListener.getBlockStreaming().observeOn(scheduler).subscribe(blockSubscription ->
-        blockSubscription.getBlock().getBlockV1().getPayload().getTransactionsList().stream()
-            .map(transaction -> transaction.getPayload().getReducedPayload())
-            .filter(
-                reducedPayload -> reducedPayload.getCreatorAccountId().equals(setterAccountId)
-            )
-            .map(ReducedPayload::getCommandsList)
-            .forEach(commands -> commands.stream()
-                .filter(Command::hasSetAccountDetail)
-                .map(Command::getSetAccountDetail)
-                .filter(
-                    setAccountDetail -> setAccountDetail.getAccountId()
-                        .equals(settingsAccountId)
-                )
-                .forEach(this::processUpdate)
-            )
-    );
+    irohaChainListener.getBlockStreaming().observeOn(scheduler).subscribe(blockSubscription -> {
+      final Block block = blockSubscription.getBlock();
+      processBlock(block);
+      block.getBlockV1().getPayload().getTransactionsList().stream()
+          .map(transaction -> transaction.getPayload().getReducedPayload())
+          .filter(
+              reducedPayload -> reducedPayload.getCreatorAccountId().equals(setterAccountId)
+          )
+          .map(ReducedPayload::getCommandsList)
+          .forEach(commands -> commands.stream()
+              .filter(Command::hasSetAccountDetail)
+              .map(Command::getSetAccountDetail)
+              .filter(
+                  setAccountDetail -> setAccountDetail.getAccountId()
+                      .equals(settingsAccountId)
+              )
+              .forEach(this::processUpdate)
+          );
+    });
     isStarted = true;
   }
 
+  /**
+   * Passes a block to the block processors. A failure of one of them does not affect others.
+   *
+   * @param block committed Iroha block
+   */
+  private void processBlock(Block block) {
+    for (BlockProcessor blockProcessor : blockProcessors) {
+      try {
+        blockProcessor.process(block);
+      } catch (Exception e) {
+        logger.error("Error during block processing by " + blockProcessor.getClass().getName(), e);
+      }
+    }
+  }
+
   /**
    * Performs actual update of a rules list
    *
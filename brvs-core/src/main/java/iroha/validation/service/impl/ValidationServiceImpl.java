@@ -18,11 +18,13 @@ import iroha.validation.transactions.TransactionBatch;
 import iroha.validation.transactions.provider.RegistrationProvider;
 import iroha.validation.transactions.provider.TransactionProvider;
 import iroha.validation.transactions.provider.impl.util.BrvsData;
+import iroha.validation.transactions.signatory.SignatureVerifier;
 import iroha.validation.transactions.signatory.TransactionSigner;
 import iroha.validation.utils.ValidationUtils;
 import iroha.validation.validators.Validator;
 import iroha.validation.verdict.ValidationResult;
 import iroha.validation.verdict.Verdict;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -43,6 +45,7 @@ public class ValidationServiceImpl implements ValidationService {
   private final RegistrationProvider registrationProvider;
   private final BrvsData brvsData;
   private final RuleMonitor ruleMonitor;
+  private final SignatureVerifier signatureVerifier;
   private final Scheduler mainScheduler = Schedulers.from(createPrettySingleThreadPool(
       "brvs", "main"
   ));
@@ -57,6 +60,7 @@ public class ValidationServiceImpl implements ValidationService {
     this.registrationProvider = validationServiceContext.getRegistrationProvider();
     this.brvsData = validationServiceContext.getBrvsData();
     this.ruleMonitor = validationServiceContext.getRuleMonitor();
+    this.signatureVerifier = validationServiceContext.getSignatureVerifier();
   }
 
   /**
@@ -87,7 +91,7 @@ public class ValidationServiceImpl implements ValidationService {
     final List<String> hex = ValidationUtils.hexHash(transactionBatch);
     try {
       logger.info("Got transactions to validate: {}", hex);
-      final ValidationResult validationResult = validator.validate(transactionBatch);
+      final ValidationResult validationResult = validate(transactionBatch);
       if (Verdict.VALIDATED != validationResult.getStatus()) {
         final String reason = validationResult.getReason();
         transactionSigner.rejectAndSend(transactionBatch, reason);
@@ -104,6 +108,17 @@ public class ValidationServiceImpl implements ValidationService {
     return transactionBatch;
   }
 
+  private ValidationResult validate(TransactionBatch transactionBatch) {
+    // forged batches are rejected before rules evaluation
+    if (signatureVerifier != null) {
+      final ValidationResult verificationResult = signatureVerifier.verify(transactionBatch);
+      if (Verdict.VALIDATED != verificationResult.getStatus()) {
+        return verificationResult;
+      }
+    }
+    return validator.validate(transactionBatch);
+  }
+
   /**
    * Reads Iroha details containing a list of accounts that should be checked by BRVS
    */
@@ -116,8 +131,18 @@ public class ValidationServiceImpl implements ValidationService {
       logger.warn("Couldn't query existing accounts. Please add them manually", e);
       return;
     }
+    // only accounts that are not restored as registered need to be processed
+    final Set<String> accountsToRegister = new HashSet<>(userAccounts);
+    accountsToRegister.removeAll(registrationProvider.getRegisteredAccounts());
+    logger.info("{} of {} existent user accounts are not registered yet",
+        accountsToRegister.size(),
+        userAccounts.size()
+    );
+    if (accountsToRegister.isEmpty()) {
+      return;
+    }
     try {
-      registrationProvider.register(userAccounts);
+      registrationProvider.register(accountsToRegister);
     } catch (Exception e) {
       logger.error("Couldn't register some of existing accounts", e);
     }
@@ -9,19 +9,25 @@ import static iroha.validation.utils.ValidationUtils.PROPORTION;
 
 import com.google.common.base.Strings;
 import com.google.common.collect.Iterables;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonPrimitive;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import iroha.protocol.Endpoint;
+import iroha.protocol.Endpoint.ToriiResponse;
 import iroha.protocol.Endpoint.TxStatus;
 import iroha.protocol.TransactionOuterClass;
+import iroha.validation.listener.IrohaStatusTracker;
 import iroha.validation.transactions.provider.RegistrationProvider;
 import iroha.validation.transactions.provider.UserQuorumProvider;
 import iroha.validation.transactions.provider.impl.util.BrvsData;
 import iroha.validation.transactions.provider.impl.util.RegistrationAwaiterWrapper;
+import iroha.validation.transactions.signatory.SigningEngine;
+import iroha.validation.transactions.storage.RegisteredUsersStorage;
 import iroha.validation.utils.ValidationUtils;
 import java.io.Closeable;
+import java.io.IOException;
+import java.io.StringReader;
 import java.lang.reflect.Type;
 import java.security.Key;
 import java.security.KeyPair;
@@ -29,15 +35,17 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Function;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import jp.co.soramitsu.iroha.java.ErrorResponseException;
 import jp.co.soramitsu.iroha.java.FieldValidator;
@@ -59,6 +67,7 @@ public class AccountManager implements UserQuorumProvider, RegistrationProvider,
   private static final int PUBKEY_LENGTH = 32;
   private static final int INITIAL_USER_QUORUM_VALUE = 1;
   private static final int INITIAL_KEYS_AMOUNT = 1;
+  private static final long STATUS_WAITING_MARGIN_MILLIS = TimeUnit.SECONDS.toMillis(10);
   private static final Type USER_SIGNATORIES_TYPE_TOKEN = new TypeToken<Set<String>>() {
   }.getType();
 
@@ -66,7 +75,6 @@ public class AccountManager implements UserQuorumProvider, RegistrationProvider,
   private final Set<String> registeredAccounts = ConcurrentHashMap.newKeySet();
 
   private final String brvsAccountId;
-  private final KeyPair brvsAccountKeyPair;
   private final QueryAPI queryAPI;
   private final String userSignatoriesAttribute;
   private final Set<String> userDomains;
@@ -74,12 +82,24 @@ public class AccountManager implements UserQuorumProvider, RegistrationProvider,
   private final String brvsInstancesHolderAccount;
   private final List<KeyPair> keyPairs;
   private final Set<String> pubKeys;
+  private final RegisteredUsersStorage registeredUsersStorage;
+  private final IrohaStatusTracker statusTracker;
+  private final SigningEngine signingEngine;
 
+  /**
+   * @param registeredUsersStorage storage of registered accounts restored on start
+   * @param statusTracker {@link IrohaStatusTracker} to wait for registration transactions with
+   * @param signingEngine {@link SigningEngine} to sign registration transactions with
+   */
   public AccountManager(QueryAPI queryAPI,
       String userSignatoriesAttribute,
       String userDomains,
       String userAccountsHolderAccount,
-      String brvsInstancesHolderAccount, List<KeyPair> keyPairs) {
+      String brvsInstancesHolderAccount,
+      List<KeyPair> keyPairs,
+      RegisteredUsersStorage registeredUsersStorage,
+      IrohaStatusTracker statusTracker,
+      SigningEngine signingEngine) {
 
     Objects.requireNonNull(queryAPI, "Query API must not be null");
     if (Strings.isNullOrEmpty(userSignatoriesAttribute)) {
@@ -100,9 +120,11 @@ public class AccountManager implements UserQuorumProvider, RegistrationProvider,
     if (CollectionUtils.isEmpty(keyPairs)) {
       throw new IllegalArgumentException("Keypairs must not be neither null nor empty");
     }
+    Objects.requireNonNull(registeredUsersStorage, "RegisteredUsersStorage must not be null");
+    Objects.requireNonNull(statusTracker, "IrohaStatusTracker must not be null");
+    Objects.requireNonNull(signingEngine, "SigningEngine must not be null");
 
     this.brvsAccountId = queryAPI.getAccountId();
-    this.brvsAccountKeyPair = queryAPI.getKeyPair();
     this.queryAPI = queryAPI;
     this.userSignatoriesAttribute = userSignatoriesAttribute;
     this.userDomains = Arrays.stream(userDomains.split(",")).collect(Collectors.toSet());
@@ -116,6 +138,12 @@ public class AccountManager implements UserQuorumProvider, RegistrationProvider,
         .map(Utils::toHex)
         .map(String::toLowerCase)
         .collect(Collectors.toSet());
+    this.registeredUsersStorage = registeredUsersStorage;
+    this.statusTracker = statusTracker;
+    this.signingEngine = signingEngine;
+    // restore accounts registered before the restart so they are not processed again
+    registeredAccounts.addAll(registeredUsersStorage.getRegisteredAccounts());
+    logger.info("Restored {} registered accounts", registeredAccounts.size());
   }
 
   /**
@@ -160,11 +188,12 @@ public class AccountManager implements UserQuorumProvider, RegistrationProvider,
 
     final String jsonedKeys = ValidationUtils.irohaEscape(ValidationUtils.gson.toJson(publicKeys));
     TxStatus txStatus = sendWithLastStatusWaiting(
-        Transaction
+        signingEngine.sign(Transaction
             .builder(brvsAccountId, creationTimeMillis)
             .setAccountDetail(targetAccount, userSignatoriesAttribute, jsonedKeys)
-            .sign(brvsAccountKeyPair)
             .build()
+            .build()
+        )
     );
     if (!txStatus.equals(TxStatus.COMMITTED)) {
       throw new IllegalStateException(
@@ -208,11 +237,12 @@ public class AccountManager implements UserQuorumProvider, RegistrationProvider,
 
   private void setUserQuorumIroha(String targetAccount, int quorum, long createdTimeMillis) {
     TxStatus txStatus = sendWithLastStatusWaiting(
-        Transaction
+        signingEngine.sign(Transaction
             .builder(brvsAccountId, createdTimeMillis)
             .setAccountQuorum(targetAccount, quorum)
-            .sign(brvsAccountKeyPair)
             .build()
+            .build()
+        )
     );
     if (!txStatus.equals(TxStatus.COMMITTED)) {
       throw new IllegalStateException(
@@ -291,9 +321,7 @@ public class AccountManager implements UserQuorumProvider, RegistrationProvider,
       }
     }
     TxStatus txStatus = sendWithLastStatusWaiting(
-        transactionBuilder
-            .sign(brvsAccountKeyPair)
-            .build()
+        signingEngine.sign(transactionBuilder.build().build())
     );
     if (!txStatus.equals(TxStatus.COMMITTED)) {
       throw new IllegalStateException(
@@ -324,39 +352,47 @@ public class AccountManager implements UserQuorumProvider, RegistrationProvider,
   }
 
   private <T> Set<T> getAccountsFrom(String accountsHolderAccount,
-      Function<Entry, T> processor) {
+      BiFunction<String, String, T> processor) {
     logger.info("Going to read accounts data from {}", accountsHolderAccount);
     Set<T> resultSet = new HashSet<>();
     try {
-      JsonElement rootNode = ValidationUtils.parser
-          .parse(queryAPI
-              .getAccount(accountsHolderAccount)
-              .getAccount()
-              .getJsonData()
-          );
-      rootNode.getAsJsonObject().entrySet().forEach(accountSetter ->
-          accountSetter
-              .getValue()
-              .getAsJsonObject()
-              .entrySet()
-              .forEach(entry -> {
-                    T candidate = processor.apply(entry);
-                    if (candidate != null) {
-                      resultSet.add(candidate);
-                    }
-                  }
-              )
-      );
+      final String jsonData = queryAPI
+          .getAccount(accountsHolderAccount)
+          .getAccount()
+          .getJsonData();
+      // holder details are read as a stream of setter -> (key -> value) entries
+      // not to build the whole json tree in memory
+      try (JsonReader reader = new JsonReader(new StringReader(jsonData))) {
+        reader.beginObject();
+        while (reader.hasNext()) {
+          reader.nextName();
+          reader.beginObject();
+          while (reader.hasNext()) {
+            final String key = reader.nextName();
+            if (reader.peek() != JsonToken.STRING) {
+              reader.skipValue();
+              continue;
+            }
+            T candidate = processor.apply(key, reader.nextString());
+            if (candidate != null) {
+              resultSet.add(candidate);
+            }
+          }
+          reader.endObject();
+        }
+        reader.endObject();
+      }
       return resultSet;
     } catch (ErrorResponseException e) {
       throw new IllegalStateException(
           "There is no valid response from Iroha about accounts in " + accountsHolderAccount, e);
+    } catch (IOException e) {
+      throw new IllegalStateException(
+          "Couldn't parse accounts data of " + accountsHolderAccount, e);
     }
   }
 
-  private String userAccountProcessor(Entry<String, JsonPrimitive> entry) {
-    String key = entry.getKey();
-    String suffix = entry.getValue().getAsString();
+  private String userAccountProcessor(String key, String suffix) {
     if (!key.endsWith(suffix)) {
       return null;
     }
@@ -367,9 +403,7 @@ public class AccountManager implements UserQuorumProvider, RegistrationProvider,
     return key.substring(0, key.lastIndexOf(suffix)).concat("@").concat(recoveredSuffix);
   }
 
-  private BrvsData brvsAccountProcessor(Entry<String, JsonPrimitive> entry) {
-    String pubkey = entry.getKey();
-    String hostname = entry.getValue().getAsString();
+  private BrvsData brvsAccountProcessor(String pubkey, String hostname) {
     if (pubkey.length() != PUBKEY_LENGTH) {
       logger.warn("Expected hostname-pubkey pair. Got {} : {}", hostname, pubkey);
       return null;
@@ -395,10 +429,33 @@ public class AccountManager implements UserQuorumProvider, RegistrationProvider,
 
   private Endpoint.TxStatus sendWithLastStatusWaiting(
       TransactionOuterClass.Transaction transaction) {
-    return queryAPI.getApi().transaction(
-        transaction,
-        ValidationUtils.subscriptionStrategy
-    ).blockingLast().getTxStatus();
+    final byte[] hash = Utils.hash(transaction);
+    final CompletableFuture<ToriiResponse> status = statusTracker.track(hash);
+    try {
+      queryAPI.getApi().transactionSync(transaction);
+    } catch (Exception e) {
+      statusTracker.stopTracking(hash);
+      throw new IllegalStateException("Couldn't send transaction " + Utils.toHex(hash), e);
+    }
+    try {
+      // the tracker times out by itself, the margin only guards against a stuck tracker
+      return status.get(
+          statusTracker.getStatusTimeoutMillis() + STATUS_WAITING_MARGIN_MILLIS,
+          TimeUnit.MILLISECONDS
+      ).getTxStatus();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    } catch (TimeoutException e) {
+      statusTracker.stopTracking(hash);
+      throw new IllegalStateException(
+          "No status of transaction " + Utils.toHex(hash) + " in time", e
+      );
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(
+          "Couldn't get status of transaction " + Utils.toHex(hash), e.getCause()
+      );
+    }
   }
 
   @Override
@@ -442,6 +499,7 @@ public class AccountManager implements UserQuorumProvider, RegistrationProvider,
             CollectionUtils.isEmpty(userSignatories) ? INITIAL_KEYS_AMOUNT : userSignatories.size()
         );
         modifyQuorumOnRegistration(accountId);
+        registeredUsersStorage.add(accountId);
         registeredAccounts.add(accountId);
         logger.info("Successfully registered {}", accountId);
       } catch (Exception e) {
@@ -16,13 +16,16 @@ import iroha.protocol.TransactionOuterClass.Transaction;
 import iroha.validation.transactions.TransactionBatch;
 import iroha.validation.utils.ValidationUtils;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
+import jp.co.soramitsu.iroha.java.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.CollectionUtils;
@@ -33,6 +36,11 @@ import org.springframework.util.CollectionUtils;
 public class CacheProvider {
 
   private static final Logger logger = LoggerFactory.getLogger(CacheProvider.class);
+  private static final Comparator<TransactionBatch> BATCH_ORDER = Comparator
+      .comparing(TransactionBatch::getBatchInitiator)
+      .thenComparingLong(batch -> batch.getTransactionList().get(0)
+          .getPayload().getReducedPayload().getCreatedTime())
+      .thenComparing(batch -> Utils.toHexHash(batch.getTransactionList().get(0)));
 
   // Local BRVS cache
   private final Map<String, Set<TransactionBatch>> cache = new HashMap<>();
@@ -129,11 +137,19 @@ public class CacheProvider {
     return subject;
   }
 
-  // Returns all transactions from all user queues
-  public synchronized Iterable<Transaction> getTransactions() {
-    return Iterables.concat(StreamSupport
-        .stream(Iterables.concat(cache.values()).spliterator(), false)
-        .map(TransactionBatch::getTransactionList).distinct().collect(Collectors.toList()));
+  // Returns a snapshot of transactions from the user queue or from all user queues if null
+  // Only references are copied under the lock, so it can be iterated without blocking the cache
+  // Batches are ordered by account, creation time and hash, so the snapshot can be paginated
+  public synchronized List<Transaction> getTransactions(String accountId) {
+    final Iterable<TransactionBatch> batches = accountId == null
+        ? Iterables.concat(cache.values())
+        : cache.getOrDefault(accountId, Collections.emptySet());
+    return StreamSupport.stream(batches.spliterator(), false)
+        .sorted(BATCH_ORDER)
+        .map(TransactionBatch::getTransactionList)
+        .distinct()
+        .flatMap(List::stream)
+        .collect(Collectors.toList());
   }
 
   // Checks if the batch lead to locking of the queue
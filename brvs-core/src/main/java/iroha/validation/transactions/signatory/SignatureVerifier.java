@@ -0,0 +1,21 @@
+/*
+ * Copyright D3 Ledger, Inc. All Rights Reserved.
+ *  SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.transactions.signatory;
+
+import iroha.validation.transactions.TransactionBatch;
+import iroha.validation.verdict.ValidationResult;
+
+public interface SignatureVerifier {
+
+  /**
+   * Method for checking user signatures of a transaction batch before its validation
+   *
+   * @param transactionBatch Iroha proto transaction batch in brvs representation
+   * @return {@link ValidationResult#VALIDATED} if all the signatures are correct or a rejection
+   * with a reason otherwise
+   */
+  ValidationResult verify(TransactionBatch transactionBatch);
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright D3 Ledger, Inc. All Rights Reserved.
+ *  SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.transactions.signatory;
+
+import iroha.protocol.Primitive.Signature;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import java.io.Closeable;
+import java.security.KeyPair;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import jp.co.soramitsu.crypto.ed25519.Ed25519Sha3;
+import jp.co.soramitsu.iroha.java.Utils;
+import org.springframework.util.CollectionUtils;
+
+/**
+ * Ed25519 transaction signing component shared by BRVS services. Signature engines are kept per
+ * thread and hex public keys of the BRVS keys are computed once. Signatures are appended to
+ * transaction protos directly, so the payload of a transaction is hashed only once regardless of
+ * the signatures count.
+ */
+public class SigningEngine implements Closeable {
+
+  private static final int SIGNING_THREADS_COUNT = Runtime.getRuntime().availableProcessors();
+  private static final ThreadLocal<Ed25519Sha3> cryptoEngine =
+      ThreadLocal.withInitial(Ed25519Sha3::new);
+
+  private final KeyPair brvsAccountKeyPair;
+  // read only after construction
+  private final Map<KeyPair, String> hexPublicKeys = new IdentityHashMap<>();
+  private final ForkJoinPool signingPool;
+
+  public SigningEngine(KeyPair brvsAccountKeyPair) {
+    this(brvsAccountKeyPair, Collections.emptyList(), false);
+  }
+
+  /**
+   * @param brvsAccountKeyPair BRVS account keypair
+   * @param keyPairs BRVS user keys
+   * @param parallelSigning if true transactions of a batch and their signatures are signed
+   * concurrently using all the available cores
+   */
+  public SigningEngine(KeyPair brvsAccountKeyPair,
+      List<KeyPair> keyPairs,
+      boolean parallelSigning) {
+    Objects.requireNonNull(brvsAccountKeyPair, "Brvs key pair must not be null");
+    Objects.requireNonNull(keyPairs, "Keypairs must not be null");
+
+    this.brvsAccountKeyPair = brvsAccountKeyPair;
+    hexPublicKeys.put(brvsAccountKeyPair, hexPublicKey(brvsAccountKeyPair));
+    keyPairs.forEach(keyPair -> hexPublicKeys.put(keyPair, hexPublicKey(keyPair)));
+    this.signingPool = parallelSigning ? new ForkJoinPool(SIGNING_THREADS_COUNT) : null;
+  }
+
+  private static String hexPublicKey(KeyPair keyPair) {
+    return Utils.toHex(keyPair.getPublic().getEncoded());
+  }
+
+  /**
+   * Signs a transaction with the BRVS account key
+   *
+   * @param transaction transaction to sign
+   * @return signed transaction
+   */
+  public Transaction sign(Transaction transaction) {
+    return sign(transaction, Collections.singletonList(brvsAccountKeyPair));
+  }
+
+  /**
+   * Signs a transaction with the keys given
+   *
+   * @param transaction transaction to sign
+   * @param keyPairs keys to sign with in the signatures order
+   * @return signed transaction
+   */
+  public Transaction sign(Transaction transaction, List<KeyPair> keyPairs) {
+    if (CollectionUtils.isEmpty(keyPairs)) {
+      return transaction;
+    }
+    return sign(transaction, Utils.hash(transaction), keyPairs, false);
+  }
+
+  /**
+   * Signs every transaction of a batch with the BRVS account key
+   *
+   * @param transactions transactions to sign
+   * @return signed transactions in the original order
+   */
+  public List<Transaction> signBatch(List<Transaction> transactions) {
+    return signBatch(transactions, transaction -> Collections.singletonList(brvsAccountKeyPair));
+  }
+
+  /**
+   * Signs transactions of a batch with the keys selected for each of them
+   *
+   * @param transactions transactions to sign
+   * @param keysSelector keys to sign a transaction with, no signatures are added if empty
+   * @return signed transactions in the original order
+   */
+  public List<Transaction> signBatch(List<Transaction> transactions,
+      Function<Transaction, List<KeyPair>> keysSelector) {
+    return signBatch(transactions, null, keysSelector);
+  }
+
+  /**
+   * Signs transactions of a batch with the keys selected for each of them reusing payload hashes
+   * computed before
+   *
+   * @param transactions transactions to sign
+   * @param payloadHashes payload hashes of the transactions in the same order, computed in place
+   * if null
+   * @param keysSelector keys to sign a transaction with, no signatures are added if empty
+   * @return signed transactions in the original order
+   */
+  public List<Transaction> signBatch(List<Transaction> transactions,
+      List<byte[]> payloadHashes,
+      Function<Transaction, List<KeyPair>> keysSelector) {
+    if (payloadHashes != null && payloadHashes.size() != transactions.size()) {
+      throw new IllegalArgumentException("Payload hashes count must match transactions count");
+    }
+    if (signingPool == null) {
+      return signBatch(transactions, payloadHashes, keysSelector, false);
+    }
+    return signingPool
+        .submit(() -> signBatch(transactions, payloadHashes, keysSelector, true))
+        .join();
+  }
+
+  private List<Transaction> signBatch(List<Transaction> transactions,
+      List<byte[]> payloadHashes,
+      Function<Transaction, List<KeyPair>> keysSelector,
+      boolean parallel) {
+    final IntStream indices = IntStream.range(0, transactions.size());
+    return (parallel ? indices.parallel() : indices)
+        .mapToObj(index -> {
+          final Transaction transaction = transactions.get(index);
+          final List<KeyPair> keyPairs = keysSelector.apply(transaction);
+          if (CollectionUtils.isEmpty(keyPairs)) {
+            return transaction;
+          }
+          final byte[] payloadHash =
+              payloadHashes != null ? payloadHashes.get(index) : Utils.hash(transaction);
+          return sign(transaction, payloadHash, keyPairs, parallel);
+        })
+        .collect(Collectors.toList());
+  }
+
+  private Transaction sign(Transaction transaction,
+      byte[] payloadHash,
+      List<KeyPair> keyPairs,
+      boolean parallel) {
+    final Stream<KeyPair> keys = parallel ? keyPairs.parallelStream() : keyPairs.stream();
+    final List<Signature> signatures = keys
+        .map(keyPair -> sign(payloadHash, keyPair))
+        .collect(Collectors.toList());
+    return transaction.toBuilder().addAllSignatures(signatures).build();
+  }
+
+  /**
+   * Signs a payload hash
+   *
+   * @param payloadHash hash to sign
+   * @param keyPair key to sign with
+   * @return signature proto
+   */
+  public Signature sign(byte[] payloadHash, KeyPair keyPair) {
+    final byte[] rawSignature;
+    try {
+      rawSignature = cryptoEngine.get().rawSign(payloadHash, keyPair);
+    } catch (Exception e) {
+      throw new IllegalStateException("Couldn't sign transaction payload", e);
+    }
+    String hexPublicKey = hexPublicKeys.get(keyPair);
+    if (hexPublicKey == null) {
+      hexPublicKey = hexPublicKey(keyPair);
+    }
+    return Signature.newBuilder()
+        .setPublicKey(hexPublicKey)
+        .setSignature(Utils.toHex(rawSignature))
+        .build();
+  }
+
+  @Override
+  public void close() {
+    if (signingPool != null) {
+      signingPool.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright D3 Ledger, Inc. All Rights Reserved.
+ *  SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.transactions.signatory.impl;
+
+import static com.d3.commons.util.ThreadUtilKt.createPrettyFixThreadPool;
+import static iroha.validation.utils.ValidationUtils.getTxAccountId;
+
+import iroha.protocol.Primitive.Signature;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.validation.transactions.TransactionBatch;
+import iroha.validation.transactions.provider.RegistrationProvider;
+import iroha.validation.transactions.provider.UserQuorumProvider;
+import iroha.validation.transactions.signatory.SignatureVerifier;
+import iroha.validation.utils.ValidationUtils;
+import iroha.validation.verdict.ValidationResult;
+import java.io.Closeable;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.xml.bind.DatatypeConverter;
+import jp.co.soramitsu.crypto.ed25519.Ed25519Sha3;
+import jp.co.soramitsu.iroha.java.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link SignatureVerifier} checking transactions of a batch and their signatures concurrently.
+ * Every signature of a registered user transaction must be a valid Ed25519 signature of the
+ * transaction payload. If the user signatories detail is set, the transaction must also contain
+ * at least as many valid signatures made by the keys of the detail as the detail contains. The
+ * details are queried once per batch creator before the concurrent stage, the batch is rejected if
+ * they can not be queried.
+ */
+public class ParallelSignatureVerifier implements SignatureVerifier, Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(ParallelSignatureVerifier.class);
+  private static final ThreadLocal<Ed25519Sha3> cryptoEngine =
+      ThreadLocal.withInitial(Ed25519Sha3::new);
+
+  private final UserQuorumProvider userQuorumProvider;
+  private final RegistrationProvider registrationProvider;
+  private final ExecutorService verifyingPool = createPrettyFixThreadPool(
+      "brvs", "signature-verifier"
+  );
+
+  public ParallelSignatureVerifier(UserQuorumProvider userQuorumProvider,
+      RegistrationProvider registrationProvider) {
+    Objects.requireNonNull(userQuorumProvider, "UserQuorumProvider must not be null");
+    Objects.requireNonNull(registrationProvider, "RegistrationProvider must not be null");
+
+    this.userQuorumProvider = userQuorumProvider;
+    this.registrationProvider = registrationProvider;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ValidationResult verify(TransactionBatch transactionBatch) {
+    final Set<String> accounts = registrationProvider.getRegisteredAccounts();
+    final List<Transaction> userTransactions = transactionBatch.getTransactionList()
+        .stream()
+        .filter(transaction -> accounts.contains(getTxAccountId(transaction)))
+        .collect(Collectors.toList());
+    if (userTransactions.isEmpty()) {
+      return ValidationResult.VALIDATED;
+    }
+    // batches are usually created by a single account, so it is a single query
+    final Map<String, Set<String>> userSignatories;
+    try {
+      userSignatories = userTransactions.stream()
+          .map(ValidationUtils::getTxAccountId)
+          .distinct()
+          .collect(Collectors.toMap(Function.identity(), this::getUserSignatories));
+    } catch (Exception e) {
+      logger.error("Couldn't query user signatories", e);
+      return ValidationResult.REJECTED("Couldn't query user signatories: " + e.getMessage());
+    }
+    final List<CompletableFuture<String>> verifications = userTransactions.stream()
+        .map(transaction -> verifyTransaction(
+            transaction,
+            userSignatories.get(getTxAccountId(transaction))
+        ))
+        .collect(Collectors.toList());
+    final Optional<String> failure = verifications.stream()
+        .map(CompletableFuture::join)
+        .filter(Objects::nonNull)
+        .findFirst();
+    return failure.map(ValidationResult::REJECTED).orElse(ValidationResult.VALIDATED);
+  }
+
+  private Set<String> getUserSignatories(String accountId) {
+    return userQuorumProvider
+        .getUserSignatoriesDetail(accountId)
+        .stream()
+        .map(String::toLowerCase)
+        .collect(Collectors.toSet());
+  }
+
+  /**
+   * Verifies signatures of a single transaction
+   *
+   * @param transaction transaction to check
+   * @param userSignatories lower case public keys of the creator signatories detail
+   * @return future of rejection reason or null if the transaction is signed correctly
+   */
+  private CompletableFuture<String> verifyTransaction(Transaction transaction,
+      Set<String> userSignatories) {
+    final byte[] payloadHash = Utils.hash(transaction);
+    final List<Signature> signatures = transaction.getSignaturesList();
+    // signatures are verified concurrently
+    final List<CompletableFuture<Boolean>> signatureVerifications = signatures.stream()
+        .map(signature -> CompletableFuture
+            .supplyAsync(() -> isValid(payloadHash, signature), verifyingPool))
+        .collect(Collectors.toList());
+    return CompletableFuture
+        .allOf(signatureVerifications.toArray(new CompletableFuture[0]))
+        .thenApply(ignored -> checkSignatures(
+            payloadHash,
+            signatures,
+            signatureVerifications.stream().allMatch(CompletableFuture::join),
+            userSignatories
+        ));
+  }
+
+  private String checkSignatures(byte[] payloadHash,
+      List<Signature> signatures,
+      boolean allSignaturesValid,
+      Set<String> userSignatories) {
+    final String hexHash = Utils.toHex(payloadHash);
+    if (!allSignaturesValid) {
+      logger.warn("Transaction {} contains an invalid signature", hexHash);
+      return "Transaction " + hexHash + " contains an invalid signature";
+    }
+    if (!userSignatories.isEmpty()) {
+      final long userSignaturesCount = signatures.stream()
+          .map(signature -> signature.getPublicKey().toLowerCase())
+          .distinct()
+          .filter(userSignatories::contains)
+          .count();
+      if (userSignaturesCount < userSignatories.size()) {
+        logger.warn("Transaction {} is signed by {} of {} user signatories",
+            hexHash,
+            userSignaturesCount,
+            userSignatories.size()
+        );
+        return "Transaction " + hexHash + " is not signed by the user signatories";
+      }
+    }
+    return null;
+  }
+
+  private boolean isValid(byte[] payloadHash, Signature signature) {
+    try {
+      return cryptoEngine.get().rawVerify(
+          payloadHash,
+          DatatypeConverter.parseHexBinary(signature.getSignature()),
+          Utils.parseHexPublicKey(signature.getPublicKey())
+      );
+    } catch (Exception e) {
+      // malformed keys and signatures are considered invalid
+      return false;
+    }
+  }
+
+  @Override
+  public void close() {
+    verifyingPool.shutdownNow();
+  }
+}
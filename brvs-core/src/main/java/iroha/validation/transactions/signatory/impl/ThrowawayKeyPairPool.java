@@ -0,0 +1,133 @@
+/*
+ * Copyright D3 Ledger, Inc. All Rights Reserved.
+ *  SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.transactions.signatory.impl;
+
+import static com.d3.commons.util.ThreadUtilKt.createPrettySingleThreadPool;
+
+import iroha.validation.utils.ValidationUtils;
+import java.io.Closeable;
+import java.security.KeyPair;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded pool of pre-generated keypairs used to sign rejected transactions. Such signatures are
+ * not supposed to be valid so there is no need to generate keys on the validation thread. The pool
+ * is refilled by a low priority background thread; keys are generated in place if it is drained.
+ */
+public class ThrowawayKeyPairPool implements Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(ThrowawayKeyPairPool.class);
+  private static final int DEFAULT_CAPACITY = 1000;
+
+  private final int capacity;
+  private final BlockingQueue<KeyPair> keyPairs;
+  private final AtomicLong takenCount = new AtomicLong();
+  private final AtomicLong fallbackCount = new AtomicLong();
+  private final AtomicLong drainsCount = new AtomicLong();
+  private final AtomicBoolean drained = new AtomicBoolean();
+  private final ExecutorService refillExecutor = createPrettySingleThreadPool(
+      "brvs", "keypair-pool"
+  );
+
+  public ThrowawayKeyPairPool() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * @param capacity maximum amount of pre-generated keypairs
+   */
+  public ThrowawayKeyPairPool(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Keypair pool capacity must be positive");
+    }
+    this.capacity = capacity;
+    this.keyPairs = new ArrayBlockingQueue<>(capacity);
+    refillExecutor.submit(this::refill);
+  }
+
+  /**
+   * Returns a pre-generated keypair or generates a new one if the pool is drained
+   *
+   * @return throwaway {@link KeyPair}
+   */
+  public KeyPair take() {
+    takenCount.incrementAndGet();
+    final KeyPair keyPair = keyPairs.poll();
+    if (keyPair != null) {
+      return keyPair;
+    }
+    fallbackCount.incrementAndGet();
+    if (drained.compareAndSet(false, true)) {
+      drainsCount.incrementAndGet();
+      logger.warn("Throwaway keypair pool is drained, generating keys in place");
+    }
+    return ValidationUtils.generateKeypair();
+  }
+
+  private void refill() {
+    // rejections must not compete with validation for CPU
+    Thread.currentThread().setPriority(Thread.MIN_PRIORITY);
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        // blocks while the pool is full
+        keyPairs.put(ValidationUtils.generateKeypair());
+        if (keyPairs.remainingCapacity() == 0 && drained.compareAndSet(true, false)) {
+          logger.info("Throwaway keypair pool is refilled. Generated in place since start: {}",
+              fallbackCount.get()
+          );
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * @return maximum amount of pre-generated keypairs
+   */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * @return current amount of pre-generated keypairs
+   */
+  public int getDepth() {
+    return keyPairs.size();
+  }
+
+  /**
+   * @return total amount of keypairs handed out
+   */
+  public long getTakenCount() {
+    return takenCount.get();
+  }
+
+  /**
+   * @return amount of keypairs generated in place because the pool was drained
+   */
+  public long getFallbackCount() {
+    return fallbackCount.get();
+  }
+
+  /**
+   * @return amount of times the pool was drained
+   */
+  public long getDrainsCount() {
+    return drainsCount.get();
+  }
+
+  @Override
+  public void close() {
+    refillExecutor.shutdownNow();
+  }
+}
@@ -5,37 +5,43 @@
 
 package iroha.validation.transactions.signatory.impl;
 
-import io.reactivex.Scheduler;
-import io.reactivex.schedulers.Schedulers;
+import static com.d3.commons.util.ThreadUtilKt.createPrettySingleThreadPool;
+
 import iroha.protocol.Commands.Command;
 import iroha.protocol.Endpoint.ToriiResponse;
 import iroha.protocol.Endpoint.TxStatus;
 import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.validation.listener.IrohaStatusTracker;
 import iroha.validation.transactions.TransactionBatch;
 import iroha.validation.transactions.provider.RegistrationProvider;
+import iroha.validation.transactions.signatory.SigningEngine;
 import iroha.validation.transactions.signatory.TransactionSigner;
 import iroha.validation.transactions.storage.TransactionVerdictStorage;
 import iroha.validation.utils.ValidationUtils;
+import java.io.Closeable;
 import java.security.KeyPair;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.StreamSupport;
 import jp.co.soramitsu.iroha.java.IrohaAPI;
 import jp.co.soramitsu.iroha.java.Utils;
-import jp.co.soramitsu.iroha.java.detail.BuildableAndSignable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
-public class TransactionSignerImpl implements TransactionSigner {
+public class TransactionSignerImpl implements TransactionSigner, Closeable {
 
   private static final Logger logger = LoggerFactory.getLogger(TransactionSignerImpl.class);
+  private static final int MAX_QUEUED_SENDINGS = 1000;
 
   private final IrohaAPI irohaAPI;
   private final String brvsAccountId;
@@ -43,14 +49,30 @@ public class TransactionSignerImpl implements TransactionSigner {
   private final List<KeyPair> keyPairs;
   private final TransactionVerdictStorage transactionVerdictStorage;
   private final RegistrationProvider registrationProvider;
-  private final Scheduler scheduler = Schedulers.from(Executors.newCachedThreadPool());
+  private final IrohaStatusTracker statusTracker;
+  // single thread keeps batches sent in the order they are submitted
+  private final ExecutorService sendingExecutor = createPrettySingleThreadPool(
+      "brvs", "transactions-sender"
+  );
+  // submitters are blocked if Iroha does not keep up with the sending queue
+  private final Semaphore queuedSendings = new Semaphore(MAX_QUEUED_SENDINGS);
+  private final ThrowawayKeyPairPool throwawayKeyPairPool;
+  private final SigningEngine signingEngine;
 
+  /**
+   * @param statusTracker {@link IrohaStatusTracker} to wait for sent transactions statuses with
+   * @param throwawayKeyPairPool source of keys to sign rejected transactions with
+   * @param signingEngine {@link SigningEngine} holding the BRVS keys
+   */
   public TransactionSignerImpl(IrohaAPI irohaAPI,
       List<KeyPair> keyPairs,
       String brvsAccountId,
       KeyPair brvsAccountKeyPair,
       TransactionVerdictStorage transactionVerdictStorage,
-      RegistrationProvider registrationProvider) {
+      RegistrationProvider registrationProvider,
+      IrohaStatusTracker statusTracker,
+      ThrowawayKeyPairPool throwawayKeyPairPool,
+      SigningEngine signingEngine) {
     Objects.requireNonNull(irohaAPI, "Iroha API must not be null");
     if (CollectionUtils.isEmpty(keyPairs)) {
       throw new IllegalArgumentException("Keypairs must not be neither null nor empty");
@@ -61,6 +83,9 @@ public class TransactionSignerImpl implements TransactionSigner {
     Objects.requireNonNull(brvsAccountKeyPair, "Brvs key pair must not be null");
     Objects.requireNonNull(keyPairs, "TransactionVerdictStorage must not be null");
     Objects.requireNonNull(registrationProvider, "RegistrationProvider must not be null");
+    Objects.requireNonNull(statusTracker, "IrohaStatusTracker must not be null");
+    Objects.requireNonNull(throwawayKeyPairPool, "ThrowawayKeyPairPool must not be null");
+    Objects.requireNonNull(signingEngine, "SigningEngine must not be null");
 
     this.irohaAPI = irohaAPI;
     this.brvsAccountId = brvsAccountId;
@@ -68,6 +93,9 @@ public class TransactionSignerImpl implements TransactionSigner {
     this.keyPairs = keyPairs;
     this.transactionVerdictStorage = transactionVerdictStorage;
     this.registrationProvider = registrationProvider;
+    this.statusTracker = statusTracker;
+    this.throwawayKeyPairPool = throwawayKeyPairPool;
+    this.signingEngine = signingEngine;
   }
 
   /**
@@ -96,48 +124,101 @@ public class TransactionSignerImpl implements TransactionSigner {
   }
 
   private void addSignaturesAndSend(TransactionBatch transactionBatch, boolean useUserKeypairs) {
-    final List<Transaction> transactions = new ArrayList<>(
-        transactionBatch.getTransactionList().size()
-    );
     final Set<String> accounts = registrationProvider.getRegisteredAccounts();
-    for (Transaction transaction : transactionBatch) {
-      jp.co.soramitsu.iroha.java.Transaction parsedTransaction =
-          jp.co.soramitsu.iroha.java.Transaction.parseFrom(transaction);
-      if (accounts.contains(ValidationUtils.getTxAccountId(transaction))) {
-        final int signaturesCount = transaction.getSignaturesCount();
-        if (useUserKeypairs && signaturesCount > keyPairs.size()) {
-          throw new IllegalStateException(
-              "Too many user signatures in the transaction: " + signaturesCount +
-                  ". Key list size is " + keyPairs.size());
+    final List<Transaction> transactions = signingEngine.signBatch(
+        transactionBatch.getTransactionList(),
+        transaction -> {
+          if (!accounts.contains(ValidationUtils.getTxAccountId(transaction))) {
+            return Collections.emptyList();
+          }
+          final int signaturesCount = transaction.getSignaturesCount();
+          if (useUserKeypairs && signaturesCount > keyPairs.size()) {
+            throw new IllegalStateException(
+                "Too many user signatures in the transaction: " + signaturesCount +
+                    ". Key list size is " + keyPairs.size());
+          }
+          // Since we assume brvs signatures must be as many as users
+          return useUserKeypairs ? keyPairs.subList(0, signaturesCount)
+              : takeThrowawayKeyPairs(signaturesCount);
         }
-        // Since we assume brvs signatures must be as many as users
-        parsedTransaction = parsedTransaction.makeMutable().build();
-        IntStream.range(0, signaturesCount)
-            .mapToObj(index ->
-                useUserKeypairs ? keyPairs.get(index) : ValidationUtils.generateKeypair()
-            )
-            .forEach(parsedTransaction::sign);
-      }
-      transactions.add(parsedTransaction.build());
-    }
+    );
     sendTransactions(transactions, useUserKeypairs);
   }
 
+  private List<KeyPair> takeThrowawayKeyPairs(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(index -> throwawayKeyPairPool.take())
+        .collect(Collectors.toList());
+  }
+
   private void sendTransactions(List<Transaction> transactions, boolean check) {
-    if (transactions.size() > 1) {
-      irohaAPI.transactionListSync(transactions);
-      if (check) {
-        transactions.forEach(transaction ->
-            scheduler.scheduleDirect(new IrohaStatusRunnable(transaction))
-        );
+    try {
+      queuedSendings.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      markFailed(transactions, "Sending is interrupted");
+      return;
+    }
+    sendingExecutor.submit(() -> {
+      try {
+        send(transactions, check);
+      } finally {
+        queuedSendings.release();
       }
-    } else {
-      final Transaction transaction = transactions.get(0);
-      irohaAPI.transactionSync(transaction);
+    });
+  }
+
+  private void send(List<Transaction> transactions, boolean check) {
+    // transactions are tracked before sending not to miss their blocks
+    final List<CompletableFuture<ToriiResponse>> statuses = new ArrayList<>();
+    if (check) {
+      transactions.forEach(transaction ->
+          statuses.add(statusTracker.track(Utils.hash(transaction)))
+      );
+    }
+    try {
+      if (transactions.size() > 1) {
+        irohaAPI.transactionListSync(transactions);
+      } else {
+        irohaAPI.transactionSync(transactions.get(0));
+      }
+    } catch (Exception e) {
+      logger.error("Couldn't send transactions to Iroha", e);
       if (check) {
-        scheduler.scheduleDirect(new IrohaStatusRunnable(transaction));
+        transactions.forEach(transaction -> statusTracker.stopTracking(Utils.hash(transaction)));
       }
+      markFailed(transactions, "Couldn't send transaction to Iroha: " + e.getMessage());
+      return;
     }
+    for (int i = 0; i < statuses.size(); i++) {
+      checkIrohaStatus(ValidationUtils.hexHash(transactions.get(i)), statuses.get(i));
+    }
+  }
+
+  private void markFailed(List<Transaction> transactions, String reason) {
+    transactions.forEach(transaction -> transactionVerdictStorage.markTransactionFailed(
+        ValidationUtils.hexHash(transaction),
+        reason
+    ));
+  }
+
+  private void checkIrohaStatus(String hexHash, CompletableFuture<ToriiResponse> status) {
+    status.whenComplete((statusResponse, throwable) -> {
+      if (throwable != null) {
+        logger.warn("Transaction {} status is unknown", hexHash, throwable);
+        transactionVerdictStorage.markTransactionFailed(hexHash, throwable.getMessage());
+      } else if (!statusResponse.getTxStatus().equals(TxStatus.COMMITTED)) {
+        logger.warn(
+            "Transaction {} failed in Iroha: {}",
+            hexHash,
+            statusResponse.getTxStatus()
+        );
+        transactionVerdictStorage.markTransactionFailed(
+            hexHash,
+            statusResponse.getTxStatus() + " : " + statusResponse.getErrOrCmdName()
+        );
+      }
+    });
   }
 
   private void sendRejectedUserTransaction(TransactionBatch transactionBatch) {
@@ -164,12 +245,10 @@ public class TransactionSignerImpl implements TransactionSigner {
       }
     }
 
-    final List<Transaction> transactions = transactionBatch.getTransactionList()
-        .stream()
-        .map(jp.co.soramitsu.iroha.java.Transaction::parseFrom)
-        .map(transaction -> transaction.sign(keyPair))
-        .map(BuildableAndSignable::build)
-        .collect(Collectors.toList());
+    final List<Transaction> transactions = signingEngine.signBatch(
+        transactionBatch.getTransactionList(),
+        transaction -> Collections.singletonList(keyPair)
+    );
 
     sendTransactions(transactions, true);
   }
@@ -186,43 +265,19 @@ public class TransactionSignerImpl implements TransactionSigner {
       );
     }
     if (isCreatedByBrvs(transactionBatch)) {
-      sendBrvsTransactionBatch(transactionBatch, ValidationUtils.generateKeypair());
+      sendBrvsTransactionBatch(transactionBatch, throwawayKeyPairPool.take());
     } else {
       sendRejectedUserTransaction(transactionBatch);
     }
+    logger.debug("Throwaway keypair pool depth: {}/{}, generated in place: {}",
+        throwawayKeyPairPool.getDepth(),
+        throwawayKeyPairPool.getCapacity(),
+        throwawayKeyPairPool.getFallbackCount()
+    );
   }
 
-  /**
-   * Intermediary runnable-wrapper for Iroha status checking
-   */
-  private class IrohaStatusRunnable implements Runnable {
-
-    private final Transaction transaction;
-
-    IrohaStatusRunnable(Transaction transaction) {
-      this.transaction = transaction;
-    }
-
-    private void checkIrohaStatus(Transaction transaction) {
-      final ToriiResponse statusResponse = ValidationUtils.subscriptionStrategy
-          .subscribe(irohaAPI, Utils.hash(transaction))
-          .blockingLast();
-      if (!statusResponse.getTxStatus().equals(TxStatus.COMMITTED)) {
-        logger.warn(
-            "Transaction {} failed in Iroha: {}",
-            ValidationUtils.hexHash(transaction),
-            statusResponse.getTxStatus()
-        );
-        transactionVerdictStorage.markTransactionFailed(
-            ValidationUtils.hexHash(transaction),
-            statusResponse.getTxStatus() + " : " + statusResponse.getErrOrCmdName()
-        );
-      }
-    }
-
-    @Override
-    public void run() {
-      checkIrohaStatus(transaction);
-    }
+  @Override
+  public void close() {
+    sendingExecutor.shutdownNow();
   }
 }
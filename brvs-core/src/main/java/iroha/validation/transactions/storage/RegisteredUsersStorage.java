@@ -0,0 +1,26 @@
+/*
+ * Copyright D3 Ledger, Inc. All Rights Reserved.
+ *  SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.transactions.storage;
+
+import java.io.Closeable;
+import java.util.Set;
+
+public interface RegisteredUsersStorage extends Closeable {
+
+  /**
+   * Method for saving an account as successfully registered in the service
+   *
+   * @param accountId user account id in Iroha
+   */
+  void add(String accountId);
+
+  /**
+   * Method for retrieving all the accounts persisted as registered
+   *
+   * @return {@link Set} of user account ids
+   */
+  Set<String> getRegisteredAccounts();
+}
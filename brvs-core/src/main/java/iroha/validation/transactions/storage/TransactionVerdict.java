@@ -0,0 +1,30 @@
+/*
+ * Copyright D3 Ledger, Inc. All Rights Reserved.
+ *  SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.transactions.storage;
+
+import iroha.validation.verdict.ValidationResult;
+
+/**
+ * Transaction hash with its validation verdict
+ */
+public class TransactionVerdict {
+
+  private final String txHash;
+  private final ValidationResult result;
+
+  public TransactionVerdict(String txHash, ValidationResult result) {
+    this.txHash = txHash;
+    this.result = result;
+  }
+
+  public String getTxHash() {
+    return txHash;
+  }
+
+  public ValidationResult getResult() {
+    return result;
+  }
+}
@@ -8,6 +8,8 @@ package iroha.validation.transactions.storage;
 import io.reactivex.Observable;
 import iroha.validation.verdict.ValidationResult;
 import java.io.Closeable;
+import java.util.Collection;
+import java.util.Map;
 
 public interface TransactionVerdictStorage extends Closeable {
 
@@ -55,10 +57,25 @@ public interface TransactionVerdictStorage extends Closeable {
    */
   ValidationResult getTransactionVerdict(String txHash);
 
+  /**
+   * Method for retrieving validation verdicts of many transactions at once
+   *
+   * @param txHashes transactions hashes
+   * @return verdicts by upper case transactions hashes, hashes unknown to the storage are omitted
+   */
+  Map<String, ValidationResult> getTransactionVerdicts(Collection<String> txHashes);
+
   /**
    * Method providing arriving rejected verdicts transactions
    *
    * @return {@link Observable} of transactions hashes
    */
   Observable<String> getRejectedOrFailedTransactionsHashesStreaming();
+
+  /**
+   * Method providing all the verdicts stored
+   *
+   * @return {@link Observable} of {@link TransactionVerdict} published on every verdict change
+   */
+  Observable<TransactionVerdict> getVerdictsStreaming();
 }
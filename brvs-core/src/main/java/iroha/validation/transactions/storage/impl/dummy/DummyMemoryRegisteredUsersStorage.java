@@ -0,0 +1,37 @@
+/*
+ * Copyright D3 Ledger, Inc. All Rights Reserved.
+ *  SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.transactions.storage.impl.dummy;
+
+import iroha.validation.transactions.storage.RegisteredUsersStorage;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class DummyMemoryRegisteredUsersStorage implements RegisteredUsersStorage {
+
+  private final Set<String> registeredAccounts = ConcurrentHashMap.newKeySet();
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void add(String accountId) {
+    registeredAccounts.add(accountId);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Set<String> getRegisteredAccounts() {
+    return new HashSet<>(registeredAccounts);
+  }
+
+  @Override
+  public void close() {
+    // nothing to close
+  }
+}
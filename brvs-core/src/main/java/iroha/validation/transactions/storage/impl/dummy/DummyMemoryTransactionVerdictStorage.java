@@ -7,8 +7,11 @@ package iroha.validation.transactions.storage.impl.dummy;
 
 import io.reactivex.Observable;
 import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+import iroha.validation.transactions.storage.TransactionVerdict;
 import iroha.validation.transactions.storage.TransactionVerdictStorage;
 import iroha.validation.verdict.ValidationResult;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -16,6 +19,9 @@ public class DummyMemoryTransactionVerdictStorage implements TransactionVerdictS
 
   private final Map<String, ValidationResult> validationResultMap = new HashMap<>();
   private final PublishSubject<String> subject = PublishSubject.create();
+  private final Subject<TransactionVerdict> verdictSubject = PublishSubject
+      .<TransactionVerdict>create()
+      .toSerialized();
 
   /**
    * {@inheritDoc}
@@ -30,7 +36,7 @@ public class DummyMemoryTransactionVerdictStorage implements TransactionVerdictS
    */
   @Override
   public void markTransactionPending(String txHash) {
-    validationResultMap.put(txHash.toUpperCase(), ValidationResult.PENDING);
+    store(txHash, ValidationResult.PENDING);
   }
 
   /**
@@ -38,7 +44,7 @@ public class DummyMemoryTransactionVerdictStorage implements TransactionVerdictS
    */
   @Override
   public void markTransactionValidated(String txHash) {
-    validationResultMap.put(txHash.toUpperCase(), ValidationResult.VALIDATED);
+    store(txHash, ValidationResult.VALIDATED);
   }
 
   /**
@@ -46,13 +52,13 @@ public class DummyMemoryTransactionVerdictStorage implements TransactionVerdictS
    */
   @Override
   public void markTransactionRejected(String txHash, String reason) {
-    validationResultMap.put(txHash.toUpperCase(), ValidationResult.REJECTED(reason));
+    store(txHash, ValidationResult.REJECTED(reason));
     subject.onNext(txHash);
   }
 
   @Override
   public void markTransactionFailed(String txHash, String reason) {
-    validationResultMap.put(txHash.toUpperCase(), ValidationResult.FAILED(reason));
+    store(txHash, ValidationResult.FAILED(reason));
     subject.onNext(txHash);
   }
 
@@ -64,6 +70,22 @@ public class DummyMemoryTransactionVerdictStorage implements TransactionVerdictS
     return validationResultMap.get(txHash.toUpperCase());
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Map<String, ValidationResult> getTransactionVerdicts(Collection<String> txHashes) {
+    final Map<String, ValidationResult> verdicts = new HashMap<>();
+    txHashes.forEach(txHash -> {
+      final String upperCaseHash = txHash.toUpperCase();
+      final ValidationResult result = validationResultMap.get(upperCaseHash);
+      if (result != null) {
+        verdicts.put(upperCaseHash, result);
+      }
+    });
+    return verdicts;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -72,6 +94,20 @@ public class DummyMemoryTransactionVerdictStorage implements TransactionVerdictS
     return subject;
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Observable<TransactionVerdict> getVerdictsStreaming() {
+    return verdictSubject;
+  }
+
+  private void store(String txHash, ValidationResult result) {
+    final String upperCaseHash = txHash.toUpperCase();
+    validationResultMap.put(upperCaseHash, result);
+    verdictSubject.onNext(new TransactionVerdict(upperCaseHash, result));
+  }
+
   @Override
   public void close() {
     // nothing to close
@@ -0,0 +1,36 @@
+/*
+ * Copyright D3 Ledger, Inc. All Rights Reserved.
+ *  SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.transactions.storage.impl.mongo;
+
+public class MongoRegisteredUser {
+
+  private String accountId;
+  private long registrationTime;
+
+  public MongoRegisteredUser() {
+  }
+
+  public MongoRegisteredUser(String accountId, long registrationTime) {
+    this.accountId = accountId;
+    this.registrationTime = registrationTime;
+  }
+
+  public String getAccountId() {
+    return accountId;
+  }
+
+  public void setAccountId(String accountId) {
+    this.accountId = accountId;
+  }
+
+  public long getRegistrationTime() {
+    return registrationTime;
+  }
+
+  public void setRegistrationTime(long registrationTime) {
+    this.registrationTime = registrationTime;
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright D3 Ledger, Inc. All Rights Reserved.
+ *  SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.transactions.storage.impl.mongo;
+
+import static com.mongodb.client.model.Filters.eq;
+import static org.bson.codecs.configuration.CodecRegistries.fromProviders;
+import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
+
+import com.google.common.base.Strings;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOptions;
+import iroha.validation.transactions.storage.RegisteredUsersStorage;
+import java.util.HashSet;
+import java.util.Set;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.codecs.pojo.PojoCodecProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class MongoRegisteredUsersStorage implements RegisteredUsersStorage {
+
+  private static final Logger logger = LoggerFactory.getLogger(MongoRegisteredUsersStorage.class);
+  private static final ReplaceOptions replaceOptions = new ReplaceOptions().upsert(true);
+  private static final String ACCOUNT_ID_ATTRIBUTE = "accountId";
+
+  private final MongoClient mongoClient;
+  private final MongoCollection<MongoRegisteredUser> collection;
+
+  public MongoRegisteredUsersStorage(String mongoHost, int mongoPort) {
+    if (Strings.isNullOrEmpty(mongoHost)) {
+      throw new IllegalArgumentException("MongoDB host must not be neither null nor empty");
+    }
+    if (mongoPort < 1 || mongoPort > 65535) {
+      throw new IllegalArgumentException("MongoDB port must be valid");
+    }
+    mongoClient = MongoClients.create(String.format("mongodb://%s:%d", mongoHost, mongoPort));
+    CodecRegistry mongoUserCodecRegistry = fromRegistries(
+        MongoClientSettings.getDefaultCodecRegistry(),
+        fromProviders(PojoCodecProvider.builder().automatic(true).build()));
+    collection = mongoClient
+        .getDatabase("userStorage")
+        .getCollection("registeredUsers", MongoRegisteredUser.class)
+        .withCodecRegistry(mongoUserCodecRegistry);
+    collection.createIndex(Indexes.ascending(ACCOUNT_ID_ATTRIBUTE), new IndexOptions().unique(true));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void add(String accountId) {
+    collection.replaceOne(eq(ACCOUNT_ID_ATTRIBUTE, accountId),
+        new MongoRegisteredUser(accountId, System.currentTimeMillis()),
+        replaceOptions
+    );
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Set<String> getRegisteredAccounts() {
+    final Set<String> result = collection.find()
+        .projection(Projections.include(ACCOUNT_ID_ATTRIBUTE))
+        .map(MongoRegisteredUser::getAccountId)
+        .into(new HashSet<>());
+    logger.info("Read {} registered accounts from storage", result.size());
+    return result;
+  }
+
+  @Override
+  public void close() {
+    mongoClient.close();
+  }
+}
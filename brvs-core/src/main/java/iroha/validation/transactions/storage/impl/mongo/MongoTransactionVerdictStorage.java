@@ -6,6 +6,7 @@
 package iroha.validation.transactions.storage.impl.mongo;
 
 import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.in;
 import static org.bson.codecs.configuration.CodecRegistries.fromProviders;
 import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
 
@@ -17,8 +18,15 @@ import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.ReplaceOptions;
 import io.reactivex.Observable;
 import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+import iroha.validation.transactions.storage.TransactionVerdict;
 import iroha.validation.transactions.storage.TransactionVerdictStorage;
 import iroha.validation.verdict.ValidationResult;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.codecs.pojo.PojoCodecProvider;
 
@@ -30,6 +38,10 @@ public class MongoTransactionVerdictStorage implements TransactionVerdictStorage
   private final MongoClient mongoClient;
   private final MongoCollection<MongoVerdict> collection;
   private final PublishSubject<String> subject = PublishSubject.create();
+  // verdicts are stored from many threads
+  private final Subject<TransactionVerdict> verdictSubject = PublishSubject
+      .<TransactionVerdict>create()
+      .toSerialized();
 
   public MongoTransactionVerdictStorage(String mongoHost, int mongoPort) {
     if (Strings.isNullOrEmpty(mongoHost)) {
@@ -98,6 +110,25 @@ public class MongoTransactionVerdictStorage implements TransactionVerdictStorage
     return verdict == null ? null : verdict.getResult();
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Map<String, ValidationResult> getTransactionVerdicts(Collection<String> txHashes) {
+    final Set<String> upperCaseHashes = txHashes.stream()
+        .map(String::toUpperCase)
+        .collect(Collectors.toSet());
+    final Map<String, ValidationResult> verdicts = new HashMap<>();
+    if (upperCaseHashes.isEmpty()) {
+      return verdicts;
+    }
+    // single round trip for all the hashes
+    for (MongoVerdict verdict : collection.find(in(TX_HASH_ATTRIBUTE, upperCaseHashes))) {
+      verdicts.put(verdict.getTxHash(), verdict.getResult());
+    }
+    return verdicts;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -106,12 +137,21 @@ public class MongoTransactionVerdictStorage implements TransactionVerdictStorage
     return subject;
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Observable<TransactionVerdict> getVerdictsStreaming() {
+    return verdictSubject;
+  }
+
   private void store(String txHash, ValidationResult result) {
     final String upperCaseHash = txHash.toUpperCase();
     collection.replaceOne(eq(TX_HASH_ATTRIBUTE, upperCaseHash),
         new MongoVerdict(upperCaseHash, result),
         replaceOptions
     );
+    verdictSubject.onNext(new TransactionVerdict(upperCaseHash, result));
   }
 
   @Override
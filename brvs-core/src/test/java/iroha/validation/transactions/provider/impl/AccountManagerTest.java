@@ -0,0 +1,119 @@
+/*
+ * Copyright D3 Ledger, Inc. All Rights Reserved.
+ *  SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.transactions.provider.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableSet;
+import iroha.protocol.Endpoint.ToriiResponse;
+import iroha.protocol.Endpoint.TxStatus;
+import iroha.protocol.QryResponses.Account;
+import iroha.protocol.QryResponses.AccountResponse;
+import iroha.protocol.QryResponses.SignatoriesResponse;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.validation.listener.IrohaStatusTracker;
+import iroha.validation.transactions.signatory.SigningEngine;
+import iroha.validation.transactions.storage.RegisteredUsersStorage;
+import iroha.validation.transactions.storage.impl.dummy.DummyMemoryRegisteredUsersStorage;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import jp.co.soramitsu.crypto.ed25519.Ed25519Sha3;
+import jp.co.soramitsu.iroha.java.IrohaAPI;
+import jp.co.soramitsu.iroha.java.QueryAPI;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AccountManagerTest {
+
+  private static final Ed25519Sha3 crypto = new Ed25519Sha3();
+
+  private final String brvsAccountId = "brvs@brvs";
+  private final String userSignatoriesAttribute = "user_signatories";
+  private final String restoredAccountId = "restored@d3";
+  private final String newAccountId = "new@d3";
+  private final QueryAPI queryAPI = mock(QueryAPI.class);
+  private final IrohaAPI irohaAPI = mock(IrohaAPI.class);
+  private final IrohaStatusTracker statusTracker = mock(IrohaStatusTracker.class);
+  private final SigningEngine signingEngine = new SigningEngine(crypto.generateKeypair());
+  private final RegisteredUsersStorage registeredUsersStorage =
+      new DummyMemoryRegisteredUsersStorage();
+
+  private AccountManager accountManager;
+
+  @BeforeEach
+  void setUp() {
+    when(queryAPI.getAccountId()).thenReturn(brvsAccountId);
+    when(queryAPI.getApi()).thenReturn(irohaAPI);
+    when(queryAPI.getAccount(brvsAccountId)).thenReturn(accountResponse(brvsAccountId, 1));
+    // already has the quorum BRVS would set, so only the signatory is added on registration
+    when(queryAPI.getAccount(newAccountId)).thenReturn(accountResponse(newAccountId, 2));
+    when(queryAPI.getAccountDetails(newAccountId, brvsAccountId, userSignatoriesAttribute))
+        .thenReturn("{}");
+    when(queryAPI.getSignatories(newAccountId))
+        .thenReturn(SignatoriesResponse.getDefaultInstance());
+    when(statusTracker.track(any())).thenReturn(CompletableFuture.completedFuture(
+        ToriiResponse.newBuilder().setTxStatus(TxStatus.COMMITTED).build()
+    ));
+    registeredUsersStorage.add(restoredAccountId);
+    accountManager = new AccountManager(
+        queryAPI,
+        userSignatoriesAttribute,
+        "d3",
+        "users@brvs",
+        "brvs_instances@brvs",
+        Collections.singletonList(crypto.generateKeypair()),
+        registeredUsersStorage,
+        statusTracker,
+        signingEngine
+    );
+  }
+
+  @AfterEach
+  void tearDown() {
+    accountManager.close();
+    signingEngine.close();
+  }
+
+  private static AccountResponse accountResponse(String accountId, int quorum) {
+    return AccountResponse.newBuilder()
+        .setAccount(Account.newBuilder()
+            .setAccountId(accountId)
+            .setQuorum(quorum)
+        )
+        .build();
+  }
+
+  /**
+   * @given {@link AccountManager} instance created over a storage with a registered account
+   * @when the stored account and a new one are registered
+   * @then the stored account is restored and skipped, only the new one is registered and stored
+   */
+  @Test
+  void restoredAccountsAreNotRegisteredAgainTest() throws InterruptedException {
+    assertEquals(ImmutableSet.of(restoredAccountId), accountManager.getRegisteredAccounts());
+
+    accountManager.register(Arrays.asList(restoredAccountId, newAccountId));
+
+    verify(queryAPI, never()).getAccount(restoredAccountId);
+    verify(irohaAPI, times(1)).transactionSync(any(Transaction.class));
+    assertEquals(
+        ImmutableSet.of(restoredAccountId, newAccountId),
+        accountManager.getRegisteredAccounts()
+    );
+    assertEquals(
+        ImmutableSet.of(restoredAccountId, newAccountId),
+        registeredUsersStorage.getRegisteredAccounts()
+    );
+  }
+}
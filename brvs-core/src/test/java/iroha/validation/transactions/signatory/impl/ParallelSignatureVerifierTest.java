@@ -0,0 +1,137 @@
+/*
+ * Copyright D3 Ledger, Inc. All Rights Reserved.
+ *  SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.transactions.signatory.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableSet;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.validation.transactions.TransactionBatch;
+import iroha.validation.transactions.provider.RegistrationProvider;
+import iroha.validation.transactions.provider.UserQuorumProvider;
+import iroha.validation.transactions.signatory.SigningEngine;
+import iroha.validation.verdict.Verdict;
+import java.security.KeyPair;
+import java.util.Arrays;
+import java.util.Collections;
+import jp.co.soramitsu.crypto.ed25519.Ed25519Sha3;
+import jp.co.soramitsu.iroha.java.Utils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ParallelSignatureVerifierTest {
+
+  private static final Ed25519Sha3 crypto = new Ed25519Sha3();
+
+  private final String userAccountId = "user@d3";
+  private final KeyPair userKeyPair = crypto.generateKeypair();
+  private final KeyPair secondUserKeyPair = crypto.generateKeypair();
+  private final UserQuorumProvider userQuorumProvider = mock(UserQuorumProvider.class);
+  private final RegistrationProvider registrationProvider = mock(RegistrationProvider.class);
+  private final SigningEngine signingEngine = new SigningEngine(crypto.generateKeypair());
+
+  private ParallelSignatureVerifier verifier;
+
+  @BeforeEach
+  void setUp() {
+    when(registrationProvider.getRegisteredAccounts())
+        .thenReturn(Collections.singleton(userAccountId));
+    when(userQuorumProvider.getUserSignatoriesDetail(userAccountId))
+        .thenReturn(Collections.singleton(hexPublicKey(userKeyPair)));
+    verifier = new ParallelSignatureVerifier(userQuorumProvider, registrationProvider);
+  }
+
+  @AfterEach
+  void tearDown() {
+    verifier.close();
+    signingEngine.close();
+  }
+
+  private static String hexPublicKey(KeyPair keyPair) {
+    return Utils.toHex(keyPair.getPublic().getEncoded());
+  }
+
+  private Transaction transaction(long createdTime) {
+    final Transaction.Builder transaction = Transaction.newBuilder();
+    transaction.getPayloadBuilder().getReducedPayloadBuilder()
+        .setCreatorAccountId(userAccountId)
+        .setCreatedTime(createdTime)
+        .setQuorum(1);
+    return transaction.build();
+  }
+
+  private Transaction signedByUser(long createdTime) {
+    return signingEngine.sign(transaction(createdTime), Collections.singletonList(userKeyPair));
+  }
+
+  /**
+   * @given {@link ParallelSignatureVerifier} instance
+   * @when a batch of transactions signed by the user signatory is verified
+   * @then the batch is validated and the user signatories are queried once
+   */
+  @Test
+  void validSignaturesTest() {
+    final TransactionBatch batch = new TransactionBatch(Arrays.asList(
+        signedByUser(1),
+        signedByUser(2)
+    ));
+
+    assertEquals(Verdict.VALIDATED, verifier.verify(batch).getStatus());
+    verify(userQuorumProvider, times(1)).getUserSignatoriesDetail(userAccountId);
+  }
+
+  /**
+   * @given {@link ParallelSignatureVerifier} instance
+   * @when a transaction with a signature of the user key made for another payload is verified
+   * @then the batch is rejected
+   */
+  @Test
+  void forgedSignatureTest() {
+    final Transaction forged = transaction(1).toBuilder()
+        .addSignatures(signedByUser(2).getSignatures(0))
+        .build();
+
+    assertEquals(Verdict.REJECTED,
+        verifier.verify(new TransactionBatch(Collections.singletonList(forged))).getStatus());
+  }
+
+  /**
+   * @given {@link ParallelSignatureVerifier} instance and two user signatories
+   * @when a transaction signed by one of them only is verified
+   * @then the batch is rejected
+   */
+  @Test
+  void missingUserSignatureTest() {
+    when(userQuorumProvider.getUserSignatoriesDetail(userAccountId)).thenReturn(ImmutableSet.of(
+        hexPublicKey(userKeyPair),
+        hexPublicKey(secondUserKeyPair)
+    ));
+
+    assertEquals(Verdict.REJECTED, verifier.verify(
+        new TransactionBatch(Collections.singletonList(signedByUser(1)))
+    ).getStatus());
+  }
+
+  /**
+   * @given {@link ParallelSignatureVerifier} instance and failing user signatories query
+   * @when a transaction of the user is verified
+   * @then the batch is rejected instead of the failure being thrown
+   */
+  @Test
+  void signatoriesQueryFailureTest() {
+    when(userQuorumProvider.getUserSignatoriesDetail(userAccountId))
+        .thenThrow(new IllegalStateException("Iroha is not available"));
+
+    assertEquals(Verdict.REJECTED, verifier.verify(
+        new TransactionBatch(Collections.singletonList(signedByUser(1)))
+    ).getStatus());
+  }
+}
@@ -0,0 +1,21 @@
+/*
+ * Copyright D3 Ledger, Inc. All Rights Reserved.
+ *  SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules;
+
+import iroha.protocol.BlockOuterClass.Block;
+
+/**
+ * Component keeping rules data up to date with committed Iroha blocks
+ */
+public interface BlockProcessor {
+
+  /**
+   * Method for processing a committed block
+   *
+   * @param block Iroha block in the commit order
+   */
+  void process(Block block);
+}
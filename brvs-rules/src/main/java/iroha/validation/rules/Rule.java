@@ -7,6 +7,7 @@ package iroha.validation.rules;
 
 import iroha.protocol.TransactionOuterClass;
 import iroha.validation.verdict.ValidationResult;
+import iroha.validation.verdict.Verdict;
 
 /**
  * Rule interface
@@ -20,4 +21,22 @@ public interface Rule {
    * @return {@link ValidationResult} corresponding to satisfiability checking outcome
    */
   ValidationResult isSatisfiedBy(TransactionOuterClass.Transaction transaction);
+
+  /**
+   * Method for checking batch rule satisfiability. Transactions are checked one by one by default,
+   * rules depending on the effect of previous transactions of a batch should override it.
+   *
+   * @param transactions Iroha proto transactions of a batch in the batch order
+   * @return {@link ValidationResult} of the first rejected transaction or VALIDATED
+   */
+  default ValidationResult isSatisfiedBy(
+      Iterable<TransactionOuterClass.Transaction> transactions) {
+    for (TransactionOuterClass.Transaction transaction : transactions) {
+      final ValidationResult validationResult = isSatisfiedBy(transaction);
+      if (validationResult.getStatus().equals(Verdict.REJECTED)) {
+        return validationResult;
+      }
+    }
+    return ValidationResult.VALIDATED;
+  }
 }
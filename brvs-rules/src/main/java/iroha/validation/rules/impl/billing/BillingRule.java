@@ -6,7 +6,9 @@
 package iroha.validation.rules.impl.billing;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.Runnables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
@@ -18,34 +20,50 @@ import com.rabbitmq.client.Connection;
 import com.rabbitmq.client.ConnectionFactory;
 import com.rabbitmq.client.DeliverCallback;
 import com.rabbitmq.client.Delivery;
+import com.rabbitmq.client.Recoverable;
+import com.rabbitmq.client.RecoveryListener;
 import io.reactivex.Observable;
+import io.reactivex.ObservableEmitter;
+import io.reactivex.Scheduler;
 import io.reactivex.schedulers.Schedulers;
-import io.reactivex.subjects.PublishSubject;
 import iroha.protocol.Commands.Command;
 import iroha.protocol.Commands.TransferAsset;
 import iroha.protocol.TransactionOuterClass.Transaction;
 import iroha.validation.rules.Rule;
 import iroha.validation.rules.impl.billing.BillingInfo.BillingTypeEnum;
+import iroha.validation.rules.impl.http.RuleHttpClient;
+import iroha.validation.rules.impl.http.RuleHttpClient.Response;
 import iroha.validation.verdict.ValidationResult;
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import jp.co.soramitsu.iroha.java.detail.Const;
 import org.slf4j.Logger;
@@ -69,7 +87,11 @@ public class BillingRule implements Rule {
   private static final Map<BillingTypeEnum, String> feeTypesAccounts;
   private static final String GET_BILLING_PATH = "/cache/get/billing";
   private static final String PRECISION_PATH = "/iroha/asset/precision/";
-  private static final Map<String, Integer> assetPrecisionMap = new ConcurrentHashMap<>();
+  private static final int UPDATES_PREFETCH_COUNT = 100;
+  private static final int UPDATES_BATCH_SIZE = 100;
+  private static final long UPDATES_BATCH_MILLIS = 500;
+  private static final long MQ_RECOVERY_INTERVAL_MILLIS = 5000;
+  private static final long SNAPSHOT_RECONCILIATION_PERIOD_MINUTES = 10;
   private static final JsonParser jsonParser = new JsonParser();
   private static final Gson gson = new Gson();
 
@@ -83,7 +105,22 @@ public class BillingRule implements Rule {
   private final String btcWithdrawalAccount;
   private final Set<String> userDomains;
   private final Set<String> depositAccounts;
-  private final Set<BillingInfo> cache = ConcurrentHashMap.newKeySet();
+  private final RuleHttpClient httpClient;
+  private final Map<String, Integer> assetPrecisionMap = new ConcurrentHashMap<>();
+  // precisions are persisted to be known right after restart, not persisted if null
+  private final Path precisionCachePath;
+  // billing cache updates, reconciliation and precisions requests are done by this thread only
+  private final ScheduledExecutorService updatesExecutor = Executors
+      .newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+          .setNameFormat("brvs:billing-updates:th-%d")
+          .setDaemon(true)
+          .build()
+      );
+  private Channel updatesChannel;
+  // delivery tags are channel scoped, so tags got before a channel recovery are never acknowledged
+  private final AtomicLong channelGeneration = new AtomicLong();
+  // immutable index replaced as a whole on updates, so readers never see a partial update
+  private volatile Map<BillingKey, BillingInfo> cache = ImmutableMap.of();
 
   static {
     feeTypesAccounts = new EnumMap<>(BillingTypeEnum.class);
@@ -102,6 +139,58 @@ public class BillingRule implements Rule {
       String depositAccounts,
       String ethWithdrawalAccount,
       String btcWithdrawalAccount) throws MalformedURLException {
+    this(getBillingBaseURL,
+        rmqHost,
+        rmqPort,
+        rmqExchange,
+        rmqRoutingKey,
+        userDomains,
+        depositAccounts,
+        ethWithdrawalAccount,
+        btcWithdrawalAccount,
+        null
+    );
+  }
+
+  public BillingRule(String getBillingBaseURL,
+      String rmqHost,
+      int rmqPort,
+      String rmqExchange,
+      String rmqRoutingKey,
+      String userDomains,
+      String depositAccounts,
+      String ethWithdrawalAccount,
+      String btcWithdrawalAccount,
+      String precisionCachePath) throws MalformedURLException {
+    this(getBillingBaseURL,
+        rmqHost,
+        rmqPort,
+        rmqExchange,
+        rmqRoutingKey,
+        userDomains,
+        depositAccounts,
+        ethWithdrawalAccount,
+        btcWithdrawalAccount,
+        precisionCachePath,
+        new RuleHttpClient()
+    );
+  }
+
+  /**
+   * @param precisionCachePath local file to persist asset precisions to, not persisted if empty
+   * @param httpClient {@link RuleHttpClient} to call the billing service with
+   */
+  public BillingRule(String getBillingBaseURL,
+      String rmqHost,
+      int rmqPort,
+      String rmqExchange,
+      String rmqRoutingKey,
+      String userDomains,
+      String depositAccounts,
+      String ethWithdrawalAccount,
+      String btcWithdrawalAccount,
+      String precisionCachePath,
+      RuleHttpClient httpClient) throws MalformedURLException {
 
     if (Strings.isNullOrEmpty(getBillingBaseURL)) {
       throw new IllegalArgumentException("Billing URL must not be neither null nor empty");
@@ -132,6 +221,7 @@ public class BillingRule implements Rule {
       throw new IllegalArgumentException(
           "BTC Withdrawal account must not be neither null nor empty");
     }
+    Objects.requireNonNull(httpClient, "HTTP client must not be null");
 
     this.getBillingBaseURL = getBillingBaseURL;
     this.rmqHost = rmqHost;
@@ -142,6 +232,9 @@ public class BillingRule implements Rule {
     this.depositAccounts = new HashSet<>(Arrays.asList(depositAccounts.split(SEPARATOR)));
     this.ethWithdrawalAccount = ethWithdrawalAccount;
     this.btcWithdrawalAccount = btcWithdrawalAccount;
+    this.httpClient = httpClient;
+    this.precisionCachePath = Strings.isNullOrEmpty(precisionCachePath) ? null
+        : Paths.get(precisionCachePath);
     runCacheUpdater();
   }
 
@@ -151,75 +244,168 @@ public class BillingRule implements Rule {
       return;
     }
     isRunning = true;
-    readBillingOnStartup();
+    loadPersistedPrecisions();
+    cache = readBillingSnapshot();
+    // precisions are requested before any update is processed
+    updatesExecutor.submit(this::prefetchPrecisions);
+    final Scheduler updatesScheduler = Schedulers.from(updatesExecutor);
     getMqUpdatesObservable()
-        .observeOn(Schedulers.from(Executors.newSingleThreadExecutor()))
-        .subscribe(update -> {
-              logger.info("Got billing data update from MQ: " + update.toString());
-              final BillingInfo currentBillingInfo = cache
-                  .stream()
-                  // equality check does not check the date and fraction
-                  .filter(entry -> entry.equals(update))
-                  .findAny()
-                  .orElse(null);
-              if (currentBillingInfo == null
-                  || currentBillingInfo.getUpdated() < update.getUpdated()) {
-                cache.remove(update);
-                cache.add(update);
-              }
-            }
+        .buffer(UPDATES_BATCH_MILLIS, TimeUnit.MILLISECONDS, updatesScheduler, UPDATES_BATCH_SIZE)
+        .filter(deliveries -> !deliveries.isEmpty())
+        .observeOn(updatesScheduler)
+        .subscribe(
+            this::applyUpdates,
+            throwable -> logger.error("Billing updates processing failed", throwable)
         );
+    // updates lost while MQ was unavailable are caught up by the snapshot
+    updatesExecutor.scheduleWithFixedDelay(
+        this::reconcileSnapshot,
+        SNAPSHOT_RECONCILIATION_PERIOD_MINUTES,
+        SNAPSHOT_RECONCILIATION_PERIOD_MINUTES,
+        TimeUnit.MINUTES
+    );
     logger.info("Billing cache updater has been started");
   }
 
-  private void readBillingOnStartup() throws MalformedURLException {
+  /**
+   * Applies billing updates received from MQ at once and acknowledges them afterwards, so updates
+   * not applied are redelivered. Only deliveries of the current channel generation are
+   * acknowledged, the ones got before a recovery are redelivered by the broker anyway
+   *
+   * @param updates MQ deliveries in the order received
+   */
+  private void applyUpdates(List<MqUpdate> updates) {
+    final Map<BillingKey, BillingInfo> updatedCache = new HashMap<>(cache);
+    final Set<String> newAssets = new HashSet<>();
+    final long currentGeneration = channelGeneration.get();
+    long lastDeliveryTag = -1;
+    for (MqUpdate mqUpdate : updates) {
+      final Delivery delivery = mqUpdate.delivery;
+      if (mqUpdate.generation == currentGeneration) {
+        lastDeliveryTag = delivery.getEnvelope().getDeliveryTag();
+      }
+      final String body = new String(delivery.getBody());
+      try {
+        final BillingInfo update = BillingInfo
+            .parseBillingMqDto(jsonParser.parse(body).getAsJsonObject());
+        logger.info("Got billing data update from MQ: " + update.toString());
+        final BillingKey key = new BillingKey(update);
+        final BillingInfo currentBillingInfo = updatedCache.get(key);
+        if (currentBillingInfo == null
+            || currentBillingInfo.getUpdated() < update.getUpdated()) {
+          updatedCache.put(key, update);
+        }
+        if (!assetPrecisionMap.containsKey(update.getAsset())) {
+          newAssets.add(update.getAsset());
+        }
+      } catch (Exception e) {
+        // malformed updates are not redelivered
+        logger.error("Couldn't apply billing update: " + body, e);
+      }
+    }
+    cache = ImmutableMap.copyOf(updatedCache);
+    if (lastDeliveryTag < 0) {
+      logger.warn("Billing updates got before MQ channel recovery are not acknowledged");
+    } else {
+      acknowledge(lastDeliveryTag);
+    }
+    if (!newAssets.isEmpty()) {
+      newAssets.forEach(this::prefetchPrecision);
+      persistPrecisions();
+    }
+  }
+
+  private void acknowledge(long deliveryTag) {
+    try {
+      updatesChannel.basicAck(deliveryTag, true);
+    } catch (Exception e) {
+      // redelivered updates are applied again harmlessly
+      logger.warn("Couldn't acknowledge billing updates up to " + deliveryTag, e);
+    }
+  }
+
+  /**
+   * Merges the billing snapshot into the cache. Entries are replaced only by newer ones the same
+   * way MQ updates are applied, so updates got after the snapshot was taken are not reverted.
+   * Entries absent from the snapshot are dropped unless they are newer than every snapshot entry,
+   * those are taken as created after the snapshot and kept until the next reconciliation
+   */
+  private void reconcileSnapshot() {
+    try {
+      final Map<BillingKey, BillingInfo> snapshot = readBillingSnapshot();
+      final Map<BillingKey, BillingInfo> reconciledCache = new HashMap<>(cache);
+      long changedCount = 0;
+      for (Map.Entry<BillingKey, BillingInfo> entry : snapshot.entrySet()) {
+        final BillingInfo snapshotBillingInfo = entry.getValue();
+        final BillingInfo currentBillingInfo = reconciledCache.get(entry.getKey());
+        if (currentBillingInfo == null
+            || currentBillingInfo.getUpdated() < snapshotBillingInfo.getUpdated()) {
+          reconciledCache.put(entry.getKey(), snapshotBillingInfo);
+          if (currentBillingInfo == null || currentBillingInfo.getFeeFraction()
+              .compareTo(snapshotBillingInfo.getFeeFraction()) != 0) {
+            changedCount++;
+          }
+        }
+      }
+      // an empty snapshot drops nothing
+      final long snapshotUpdated = snapshot.values()
+          .stream()
+          .mapToLong(BillingInfo::getUpdated)
+          .max()
+          .orElse(Long.MIN_VALUE);
+      final int sizeBeforeRemoval = reconciledCache.size();
+      reconciledCache.entrySet().removeIf(entry -> !snapshot.containsKey(entry.getKey())
+          && entry.getValue().getUpdated() <= snapshotUpdated
+      );
+      changedCount += sizeBeforeRemoval - reconciledCache.size();
+      cache = ImmutableMap.copyOf(reconciledCache);
+      if (changedCount > 0) {
+        logger.warn("Billing cache is reconciled with the snapshot, {} entries differed",
+            changedCount
+        );
+      }
+      prefetchPrecisions();
+    } catch (Exception e) {
+      logger.warn("Couldn't reconcile billing cache with the snapshot", e);
+    }
+  }
+
+  private Map<BillingKey, BillingInfo> readBillingSnapshot() throws MalformedURLException {
     final JsonObject root = jsonParser
         .parse(
             executeGetRequest(
                 new URL(getBillingBaseURL + GET_BILLING_PATH),
                 BILLING_ERROR_MESSAGE)
         ).getAsJsonObject();
-    logger.info("Got billing data response from HTTP server: " + root);
+    logger.debug("Got billing data response from HTTP server: " + root);
+    final Map<BillingKey, BillingInfo> loadedCache = new HashMap<>();
     for (BillingTypeEnum billingType : BillingTypeEnum.values()) {
       final String label = billingType.label;
-      cache.addAll(
-          BillingInfo.parseBillingHttpDto(
-              label,
-              gson.fromJson(
-                  root.getAsJsonObject(label),
-                  new TypeToken<HashMap<String, HashMap<String, JsonObject>>>() {
-                  }.getType()
-              )
+      BillingInfo.parseBillingHttpDto(
+          label,
+          gson.fromJson(
+              root.getAsJsonObject(label),
+              new TypeToken<HashMap<String, HashMap<String, JsonObject>>>() {
+              }.getType()
           )
-      );
+      ).forEach(billingInfo -> loadedCache.put(new BillingKey(billingInfo), billingInfo));
     }
+    return ImmutableMap.copyOf(loadedCache);
   }
 
   private String executeGetRequest(URL url, String onRequestError) {
-    HttpURLConnection urlConnection;
+    final Response response;
     try {
-      urlConnection = (HttpURLConnection) url.openConnection();
-      final int responseCode = urlConnection.getResponseCode();
-      if (responseCode != 200) {
-        throw new BillingRuleException(
-            onRequestError + " Response code is " + responseCode
-        );
-      }
+      response = httpClient.get(url);
     } catch (IOException e) {
       throw new BillingRuleException("Error opening connection occurred", e);
     }
-
-    try (BufferedReader in = new BufferedReader(
-        new InputStreamReader(urlConnection.getInputStream()))) {
-      String inputLine;
-      StringBuilder response = new StringBuilder();
-      while ((inputLine = in.readLine()) != null) {
-        response.append(inputLine);
-      }
-      return response.toString();
-    } catch (Exception e) {
-      throw new BillingRuleException("Couldn't parse response", e);
+    if (response.getCode() != 200) {
+      throw new BillingRuleException(
+          onRequestError + " Response code is " + response.getCode()
+      );
     }
+    return response.getBody();
   }
 
   private String getRawAssetPrecisionResponse(String assetId) {
@@ -242,10 +428,14 @@ public class BillingRule implements Rule {
     }
   }
 
-  private Observable<BillingInfo> getMqUpdatesObservable() {
+  private Observable<MqUpdate> getMqUpdatesObservable() {
     ConnectionFactory factory = new ConnectionFactory();
     factory.setHost(rmqHost);
     factory.setPort(rmqPort);
+    // the connection, the channel and the consumer are restored after network failures
+    factory.setAutomaticRecoveryEnabled(true);
+    factory.setTopologyRecoveryEnabled(true);
+    factory.setNetworkRecoveryInterval(MQ_RECOVERY_INTERVAL_MILLIS);
     final Connection connection;
     try {
       connection = factory.newConnection();
@@ -253,23 +443,44 @@ public class BillingRule implements Rule {
       throw new IllegalStateException("Cannot acquire MQ connection", e);
     }
 
-    PublishSubject<Delivery> source = PublishSubject.create();
-    DeliverCallback deliverCallback = (consumerTag, delivery) -> source.onNext(delivery);
-    CancelCallback cancelCallback = consumerTag -> Runnables.doNothing().run();
-    // start consumer
+    final String queue;
     try {
-      Channel channel = connection.createChannel();
-      channel.exchangeDeclare(rmqExchange, BuiltinExchangeType.TOPIC, true);
-      String queue = channel.queueDeclare(QUEUE_NAME, true, false, false, null).getQueue();
-      channel.queueBind(queue, rmqExchange, rmqRoutingKey);
-      channel.basicConsume(queue, true, deliverCallback, cancelCallback);
+      updatesChannel = connection.createChannel();
+      updatesChannel.exchangeDeclare(rmqExchange, BuiltinExchangeType.TOPIC, true);
+      queue = updatesChannel.queueDeclare(QUEUE_NAME, true, false, false, null).getQueue();
+      updatesChannel.queueBind(queue, rmqExchange, rmqRoutingKey);
+      // limits unacknowledged updates
+      updatesChannel.basicQos(UPDATES_PREFETCH_COUNT);
     } catch (IOException e) {
       throw new IllegalStateException("Cannot consume billing update", e);
     }
 
-    return source.map(delivery -> BillingInfo
-        .parseBillingMqDto(jsonParser.parse(new String(delivery.getBody())).getAsJsonObject())
-    );
+    if (updatesChannel instanceof Recoverable) {
+      ((Recoverable) updatesChannel).addRecoveryListener(new RecoveryListener() {
+        @Override
+        public void handleRecovery(Recoverable recoverable) {
+          logger.info("Billing updates MQ channel is recovered");
+        }
+
+        @Override
+        public void handleRecoveryStarted(Recoverable recoverable) {
+          channelGeneration.incrementAndGet();
+        }
+      });
+    }
+
+    // consumer is started on subscription not to miss deliveries awaiting for acknowledgement
+    return Observable.create(emitter -> {
+      final ObservableEmitter<MqUpdate> serializedEmitter = emitter.serialize();
+      DeliverCallback deliverCallback = (consumerTag, delivery) ->
+          serializedEmitter.onNext(new MqUpdate(delivery, channelGeneration.get()));
+      CancelCallback cancelCallback = consumerTag -> Runnables.doNothing().run();
+      try {
+        updatesChannel.basicConsume(queue, false, deliverCallback, cancelCallback);
+      } catch (IOException e) {
+        throw new IllegalStateException("Cannot consume billing update", e);
+      }
+    });
   }
 
   /**
@@ -334,6 +545,7 @@ public class BillingRule implements Rule {
       List<TransferAsset> fees,
       boolean isBatch) {
     rebalanceFees(transfers, fees, isBatch);
+    final Map<FeeKey, Deque<TransferAsset>> feesIndex = indexFees(fees);
     for (TransferAsset transferAsset : transfers) {
       final BillingTypeEnum originalType = getBillingType(transferAsset, isBatch);
       if (originalType != null) {
@@ -347,29 +559,49 @@ public class BillingRule implements Rule {
           continue;
         }
 
-        final TransferAsset feeCandidate = filterFee(transferAsset, fees, billingInfo);
+        final Deque<TransferAsset> feeCandidates = feesIndex.get(
+            createExpectedFeeKey(transferAsset, billingInfo)
+        );
         // If operation is billable but there is no corresponding fee attached
-        if (feeCandidate == null) {
+        // Taking the fee prevents case when there are two identical operations and only one fee
+        if (feeCandidates == null || feeCandidates.poll() == null) {
           logger.error("There is no correct fee for:\n" + transferAsset);
           return ValidationResult.REJECTED("There is no fee for:\n" + transferAsset);
         }
-        // To prevent case when there are two identical operations and only one fee
-        fees.remove(feeCandidate);
       }
     }
-    if (!CollectionUtils.isEmpty(fees)) {
-      return ValidationResult.REJECTED("There are more fee transfers than needed:\n" + fees);
+    final List<TransferAsset> unusedFees = feesIndex.values()
+        .stream()
+        .flatMap(Deque::stream)
+        .collect(Collectors.toList());
+    if (!CollectionUtils.isEmpty(unusedFees)) {
+      return ValidationResult.REJECTED("There are more fee transfers than needed:\n" + unusedFees);
     }
     return ValidationResult.VALIDATED;
   }
 
-  private TransferAsset filterFee(TransferAsset transfer,
-      List<TransferAsset> fees,
-      BillingInfo billingInfo) {
+  /**
+   * Groups fee transfers by their attributes, so a fee is found without scanning all of them.
+   * Amounts are parsed once per fee.
+   */
+  private Map<FeeKey, Deque<TransferAsset>> indexFees(List<TransferAsset> fees) {
+    final Map<FeeKey, Deque<TransferAsset>> feesIndex = new HashMap<>();
+    for (TransferAsset fee : fees) {
+      feesIndex.computeIfAbsent(
+          new FeeKey(
+              fee.getSrcAccountId(),
+              fee.getAssetId(),
+              fee.getDestAccountId(),
+              new BigDecimal(fee.getAmount())
+          ),
+          key -> new ArrayDeque<>()
+      ).add(fee);
+    }
+    return feesIndex;
+  }
 
-    final String srcAccountId = transfer.getSrcAccountId();
+  private FeeKey createExpectedFeeKey(TransferAsset transfer, BillingInfo billingInfo) {
     final String assetId = transfer.getAssetId();
-    final BigDecimal amount = new BigDecimal(transfer.getAmount());
     final BillingTypeEnum billingType = billingInfo.getBillingType();
     final String destAccountName;
     if (billingType.equals(BillingTypeEnum.WITHDRAWAL)) {
@@ -383,17 +615,12 @@ public class BillingRule implements Rule {
           .concat(Const.accountIdDelimiter)
           .concat(billingInfo.getDomain());
     }
-
-    for (TransferAsset fee : fees) {
-      if (fee.getSrcAccountId().equals(srcAccountId)
-          && fee.getAssetId().equals(assetId)
-          && fee.getDestAccountId().equals(destAccountName)
-          && new BigDecimal(fee.getAmount())
-          .compareTo(calculateRelevantFeeAmount(amount, billingInfo)) == 0) {
-        return fee;
-      }
-    }
-    return null;
+    return new FeeKey(
+        transfer.getSrcAccountId(),
+        assetId,
+        destAccountName,
+        calculateRelevantFeeAmount(new BigDecimal(transfer.getAmount()), billingInfo)
+    );
   }
 
   private BigDecimal calculateRelevantFeeAmount(BigDecimal amount, BillingInfo billingInfo) {
@@ -403,10 +630,80 @@ public class BillingRule implements Rule {
   }
 
   private int getAssetPrecision(String assetId) {
-    return assetPrecisionMap.computeIfAbsent(
-        assetId,
-        newPrecision -> Integer.valueOf(getRawAssetPrecisionResponse(assetId))
+    final Integer precision = assetPrecisionMap.get(assetId);
+    if (precision != null) {
+      return precision;
+    }
+    final int requestedPrecision = Integer.parseInt(getRawAssetPrecisionResponse(assetId));
+    assetPrecisionMap.put(assetId, requestedPrecision);
+    updatesExecutor.submit(this::persistPrecisions);
+    return requestedPrecision;
+  }
+
+  // Requests precisions of all the billable assets not to do that on validation
+  private void prefetchPrecisions() {
+    cache.values()
+        .stream()
+        .map(BillingInfo::getAsset)
+        .distinct()
+        .filter(assetId -> !assetPrecisionMap.containsKey(assetId))
+        .forEach(this::prefetchPrecision);
+    logger.info("Asset precisions are prefetched, {} assets known", assetPrecisionMap.size());
+    persistPrecisions();
+  }
+
+  private void prefetchPrecision(String assetId) {
+    try {
+      assetPrecisionMap.put(assetId, Integer.valueOf(getRawAssetPrecisionResponse(assetId)));
+    } catch (Exception e) {
+      // requested again on validation
+      logger.warn("Couldn't prefetch precision of " + assetId, e);
+    }
+  }
+
+  private void loadPersistedPrecisions() {
+    if (precisionCachePath == null || !Files.exists(precisionCachePath)) {
+      return;
+    }
+    final Properties properties = new Properties();
+    try (Reader reader = Files.newBufferedReader(precisionCachePath, StandardCharsets.UTF_8)) {
+      properties.load(reader);
+      properties.stringPropertyNames().forEach(assetId ->
+          assetPrecisionMap.put(assetId, Integer.valueOf(properties.getProperty(assetId)))
+      );
+      logger.info("Loaded precisions of {} assets from {}",
+          assetPrecisionMap.size(),
+          precisionCachePath
+      );
+    } catch (Exception e) {
+      logger.warn("Couldn't load asset precisions from " + precisionCachePath, e);
+    }
+  }
+
+  // Asset precisions never change so the file is only appended with new assets
+  private synchronized void persistPrecisions() {
+    if (precisionCachePath == null) {
+      return;
+    }
+    final Properties properties = new Properties();
+    assetPrecisionMap.forEach((assetId, precision) ->
+        properties.setProperty(assetId, String.valueOf(precision))
     );
+    final Path absolutePath = precisionCachePath.toAbsolutePath();
+    try {
+      final Path directory = absolutePath.getParent();
+      Files.createDirectories(directory);
+      final Path tempFile = Files.createTempFile(directory, "precisions", ".tmp");
+      try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+        properties.store(writer, "Asset precisions");
+      }
+      Files.move(tempFile, absolutePath,
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE
+      );
+    } catch (IOException e) {
+      logger.warn("Couldn't persist asset precisions to " + precisionCachePath, e);
+    }
   }
 
   private BillingTypeEnum getBillingType(TransferAsset transfer, boolean isBatch) {
@@ -435,14 +732,104 @@ public class BillingRule implements Rule {
   }
 
   private BillingInfo getBillingInfoFor(String domain, String asset, BillingTypeEnum originalType) {
-    return cache
-        .stream()
-        .filter(entry -> entry.getDomain().equals(domain)
-            && entry.getBillingType().equals(originalType)
-            && entry.getAsset().equals(asset)
-            && entry.getFeeFraction().compareTo(BigDecimal.ZERO) > 0)
-        .findAny()
-        .orElse(null);
+    final BillingInfo billingInfo = cache.get(new BillingKey(domain, asset, originalType));
+    if (billingInfo == null || billingInfo.getFeeFraction().compareTo(BigDecimal.ZERO) <= 0) {
+      return null;
+    }
+    return billingInfo;
+  }
+
+  /**
+   * Fee transfer attributes a fee is matched by. Amounts are compared numerically regardless of
+   * their scale
+   */
+  private static class FeeKey {
+
+    private final String srcAccountId;
+    private final String assetId;
+    private final String destAccountId;
+    private final BigDecimal amount;
+
+    FeeKey(String srcAccountId, String assetId, String destAccountId, BigDecimal amount) {
+      this.srcAccountId = srcAccountId;
+      this.assetId = assetId;
+      this.destAccountId = destAccountId;
+      this.amount = amount.stripTrailingZeros();
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(srcAccountId, assetId, destAccountId, amount);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof FeeKey)) {
+        return false;
+      }
+      final FeeKey otherKey = (FeeKey) other;
+      return srcAccountId.equals(otherKey.srcAccountId)
+          && assetId.equals(otherKey.assetId)
+          && destAccountId.equals(otherKey.destAccountId)
+          && amount.equals(otherKey.amount);
+    }
+  }
+
+  /**
+   * Billing cache key. Matches {@link BillingInfo} equality that does not check the date and
+   * fraction
+   */
+  private static class BillingKey {
+
+    private final String domain;
+    private final String asset;
+    private final BillingTypeEnum billingType;
+
+    BillingKey(BillingInfo billingInfo) {
+      this(billingInfo.getDomain(), billingInfo.getAsset(), billingInfo.getBillingType());
+    }
+
+    BillingKey(String domain, String asset, BillingTypeEnum billingType) {
+      this.domain = domain;
+      this.asset = asset;
+      this.billingType = billingType;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(domain, asset, billingType);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof BillingKey)) {
+        return false;
+      }
+      final BillingKey otherKey = (BillingKey) other;
+      return domain.equals(otherKey.domain)
+          && asset.equals(otherKey.asset)
+          && billingType == otherKey.billingType;
+    }
+  }
+
+  /**
+   * MQ delivery along with the generation of the channel it was got from
+   */
+  private static class MqUpdate {
+
+    private final Delivery delivery;
+    private final long generation;
+
+    MqUpdate(Delivery delivery, long generation) {
+      this.delivery = delivery;
+      this.generation = generation;
+    }
   }
 
   private static class BillingRuleException extends RuntimeException {
@@ -0,0 +1,102 @@
+/*
+ * Copyright D3 Ledger, Inc. All Rights Reserved.
+ *  SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules.impl.core;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import iroha.protocol.BlockOuterClass.Block;
+import iroha.protocol.Commands.Command;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.validation.rules.BlockProcessor;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import jp.co.soramitsu.iroha.java.QueryAPI;
+
+/**
+ * Registry of BRVS public keys, i.e. details keys of the BRVS account. Keys are queried from Iroha
+ * once and then extended by details set on the BRVS account in committed blocks. Unknown keys are
+ * looked up in Iroha again since the block registering them might not be processed yet.
+ */
+public class BrvsKeysRegistry implements BlockProcessor {
+
+  private static final JsonParser parser = new JsonParser();
+
+  private final QueryAPI queryAPI;
+  private final String brvsAccountId;
+  // account details can not be removed, so keys are only added
+  private final Set<String> committedKeys = ConcurrentHashMap.newKeySet();
+  private volatile Set<String> queriedKeys;
+
+  public BrvsKeysRegistry(QueryAPI queryAPI) {
+    Objects.requireNonNull(queryAPI, "Query API must not be null");
+
+    this.queryAPI = queryAPI;
+    this.brvsAccountId = queryAPI.getAccountId();
+  }
+
+  /**
+   * @return BRVS account id
+   */
+  public String getBrvsAccountId() {
+    return brvsAccountId;
+  }
+
+  /**
+   * Checks if a key is known as a BRVS public key
+   *
+   * @param publicKey hex public key
+   * @return true if the key is set as a detail of the BRVS account
+   */
+  public boolean isBrvsKey(String publicKey) {
+    if (committedKeys.contains(publicKey)) {
+      return true;
+    }
+    final Set<String> keys = queriedKeys;
+    if (keys != null && keys.contains(publicKey)) {
+      return true;
+    }
+    queriedKeys = queryPubKeys();
+    return queriedKeys.contains(publicKey);
+  }
+
+  private Set<String> queryPubKeys() {
+    Set<String> resultSet = new HashSet<>();
+    JsonElement rootNode = parser
+        .parse(queryAPI
+            .getAccount(brvsAccountId)
+            .getAccount()
+            .getJsonData()
+        );
+    rootNode.getAsJsonObject().entrySet().forEach(accountSetter ->
+        accountSetter
+            .getValue()
+            .getAsJsonObject()
+            .entrySet()
+            .forEach(entry -> resultSet.add(entry.getKey()))
+    );
+    return Collections.unmodifiableSet(resultSet);
+  }
+
+  /**
+   * Registers keys set as details of the BRVS account in the block
+   *
+   * @param block Iroha block in the commit order
+   */
+  @Override
+  public void process(Block block) {
+    for (Transaction transaction : block.getBlockV1().getPayload().getTransactionsList()) {
+      for (Command command : transaction.getPayload().getReducedPayload().getCommandsList()) {
+        if (command.hasSetAccountDetail()
+            && command.getSetAccountDetail().getAccountId().equals(brvsAccountId)) {
+          committedKeys.add(command.getSetAccountDetail().getKey());
+        }
+      }
+    }
+  }
+}
@@ -6,18 +6,20 @@
 package iroha.validation.rules.impl.core;
 
 import iroha.protocol.Commands.Command;
-import iroha.protocol.Commands.RemoveSignatory;
 import iroha.protocol.TransactionOuterClass.Transaction;
 import iroha.validation.rules.Rule;
 import iroha.validation.verdict.ValidationResult;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import jp.co.soramitsu.iroha.java.QueryAPI;
 
 public class MinimumSignatoriesAmountRule implements Rule {
 
   private final int amount;
   private final QueryAPI queryAPI;
+  // signatories are queried from Iroha for every check if null
+  private final SignatoriesCountCache signatoriesCountCache;
 
   public MinimumSignatoriesAmountRule(String amount, QueryAPI queryAPI) {
     this.amount = Integer.parseInt(amount);
@@ -25,6 +27,17 @@ public class MinimumSignatoriesAmountRule implements Rule {
       throw new IllegalArgumentException("Query API must not be null");
     }
     this.queryAPI = queryAPI;
+    this.signatoriesCountCache = null;
+  }
+
+  public MinimumSignatoriesAmountRule(String amount,
+      SignatoriesCountCache signatoriesCountCache) {
+    this.amount = Integer.parseInt(amount);
+    if (signatoriesCountCache == null) {
+      throw new IllegalArgumentException("Signatories count cache must not be null");
+    }
+    this.queryAPI = null;
+    this.signatoriesCountCache = signatoriesCountCache;
   }
 
   /**
@@ -32,27 +45,43 @@ public class MinimumSignatoriesAmountRule implements Rule {
    */
   @Override
   public ValidationResult isSatisfiedBy(Transaction transaction) {
-    return checkRemoveSignatories(transaction
-        .getPayload()
-        .getReducedPayload()
-        .getCommandsList()
-        .stream()
-        .filter(Command::hasRemoveSignatory)
-        .map(Command::getRemoveSignatory)
-        .collect(Collectors.toList())
-    );
+    return isSatisfiedBy(Collections.singletonList(transaction));
   }
 
-  private ValidationResult checkRemoveSignatories(List<RemoveSignatory> removeSignatories) {
-    for (RemoveSignatory removeSignatory : removeSignatories) {
-      final String accountId = removeSignatory.getAccountId();
-      final int keysCount = queryAPI.getSignatories(accountId).getKeysCount();
-      // user and brvs keys
-      if (keysCount - 2 < amount) {
-        return ValidationResult
-            .REJECTED("User " + accountId + " cannot have less than " + amount + " signatories");
+  /**
+   * Checks signatories removals taking into account signatories added and removed by the previous
+   * commands of the batch
+   *
+   * @param transactions Iroha proto transactions of a batch in the batch order
+   * @return {@link ValidationResult} corresponding to satisfiability checking outcome
+   */
+  @Override
+  public ValidationResult isSatisfiedBy(Iterable<Transaction> transactions) {
+    // account id -> signatories removed minus added by the batch so far
+    final Map<String, Integer> removedCounts = new HashMap<>();
+    for (Transaction transaction : transactions) {
+      for (Command command : transaction.getPayload().getReducedPayload().getCommandsList()) {
+        if (command.hasAddSignatory()) {
+          removedCounts.merge(command.getAddSignatory().getAccountId(), -1, Integer::sum);
+        } else if (command.hasRemoveSignatory()) {
+          final String accountId = command.getRemoveSignatory().getAccountId();
+          final int removedCount = removedCounts.merge(accountId, 1, Integer::sum);
+          // brvs key
+          if (getSignatoriesCount(accountId) - removedCount - 1 < amount) {
+            return ValidationResult.REJECTED(
+                "User " + accountId + " cannot have less than " + amount + " signatories"
+            );
+          }
+        }
       }
     }
     return ValidationResult.VALIDATED;
   }
+
+  private int getSignatoriesCount(String accountId) {
+    if (signatoriesCountCache != null) {
+      return signatoriesCountCache.getSignatoriesCount(accountId);
+    }
+    return queryAPI.getSignatories(accountId).getKeysCount();
+  }
 }
@@ -5,13 +5,10 @@
 
 package iroha.validation.rules.impl.core;
 
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParser;
 import iroha.protocol.Commands.Command;
 import iroha.protocol.TransactionOuterClass.Transaction;
 import iroha.validation.rules.Rule;
 import iroha.validation.verdict.ValidationResult;
-import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 import jp.co.soramitsu.iroha.java.QueryAPI;
@@ -21,14 +18,23 @@ import org.slf4j.LoggerFactory;
 public class NewBrvsRule implements Rule {
 
   private static final Logger logger = LoggerFactory.getLogger(NewBrvsRule.class);
-  private static final JsonParser parser = new JsonParser();
 
-  private QueryAPI queryAPI;
-  private String brvsAccountId;
+  private final BrvsKeysRegistry brvsKeysRegistry;
+  private final String brvsAccountId;
 
   public NewBrvsRule(QueryAPI queryAPI) {
-    this.queryAPI = queryAPI;
-    this.brvsAccountId = queryAPI.getAccountId();
+    this(new BrvsKeysRegistry(queryAPI));
+  }
+
+  /**
+   * @param brvsKeysRegistry {@link BrvsKeysRegistry} of the BRVS account
+   */
+  public NewBrvsRule(BrvsKeysRegistry brvsKeysRegistry) {
+    if (brvsKeysRegistry == null) {
+      throw new IllegalArgumentException("BRVS keys registry must not be null");
+    }
+    this.brvsKeysRegistry = brvsKeysRegistry;
+    this.brvsAccountId = brvsKeysRegistry.getBrvsAccountId();
   }
 
   /**
@@ -36,19 +42,21 @@ public class NewBrvsRule implements Rule {
    */
   @Override
   public ValidationResult isSatisfiedBy(Transaction transaction) {
+    final Set<String> newKeys = transaction
+        .getPayload()
+        .getReducedPayload()
+        .getCommandsList()
+        .stream()
+        .filter(Command::hasAddSignatory)
+        .filter(command -> command.getAddSignatory().getAccountId().equals(brvsAccountId))
+        .map(command -> command.getAddSignatory().getPublicKey())
+        .collect(Collectors.toSet());
+    if (newKeys.isEmpty()) {
+      return ValidationResult.VALIDATED;
+    }
     try {
-      final Set<String> brvsPubKeys = getPubKeys();
-      final Set<String> newKeys = transaction
-          .getPayload()
-          .getReducedPayload()
-          .getCommandsList()
-          .stream()
-          .filter(Command::hasAddSignatory)
-          .filter(command -> command.getAddSignatory().getAccountId().equals(brvsAccountId))
-          .map(command -> command.getAddSignatory().getPublicKey())
-          .collect(Collectors.toSet());
       for (String key : newKeys) {
-        if (!brvsPubKeys.contains(key)) {
+        if (!brvsKeysRegistry.isBrvsKey(key)) {
           return ValidationResult.REJECTED(
               "Key " + key + " is not known as BRVS pubkey"
           );
@@ -60,22 +68,4 @@ public class NewBrvsRule implements Rule {
       return ValidationResult.REJECTED("Couldn't read brvs keys from Iroha. " + e.getMessage());
     }
   }
-
-  private Set<String> getPubKeys() {
-    Set<String> resultSet = new HashSet<>();
-    JsonElement rootNode = parser
-        .parse(queryAPI
-            .getAccount(brvsAccountId)
-            .getAccount()
-            .getJsonData()
-        );
-    rootNode.getAsJsonObject().entrySet().forEach(accountSetter ->
-        accountSetter
-            .getValue()
-            .getAsJsonObject()
-            .entrySet()
-            .forEach(entry -> resultSet.add(entry.getKey()))
-    );
-    return resultSet;
-  }
 }
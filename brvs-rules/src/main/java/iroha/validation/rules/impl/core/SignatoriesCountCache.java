@@ -0,0 +1,87 @@
+/*
+ * Copyright D3 Ledger, Inc. All Rights Reserved.
+ *  SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules.impl.core;
+
+import iroha.protocol.BlockOuterClass.Block;
+import iroha.protocol.Commands.Command;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.validation.rules.BlockProcessor;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import jp.co.soramitsu.iroha.java.QueryAPI;
+
+/**
+ * In-memory projection of accounts signatories count. A count is queried from Iroha once and is
+ * dropped when a committed block changes signatories of the account, so it is queried again on
+ * the next request. Must be registered as a {@link BlockProcessor} to be used.
+ */
+public class SignatoriesCountCache implements BlockProcessor {
+
+  private final QueryAPI queryAPI;
+  private final Map<String, Integer> signatoriesCounts = new ConcurrentHashMap<>();
+  // guarded by this, changes on every eviction so stale query results are not cached
+  private long evictionsCount;
+
+  public SignatoriesCountCache(QueryAPI queryAPI) {
+    Objects.requireNonNull(queryAPI, "Query API must not be null");
+
+    this.queryAPI = queryAPI;
+  }
+
+  /**
+   * Returns signatories count of an account
+   *
+   * @param accountId account id
+   * @return amount of the account signatories
+   */
+  public int getSignatoriesCount(String accountId) {
+    final Integer signatoriesCount = signatoriesCounts.get(accountId);
+    if (signatoriesCount != null) {
+      return signatoriesCount;
+    }
+    final long evictionsBefore;
+    synchronized (this) {
+      evictionsBefore = evictionsCount;
+    }
+    final int queriedCount = queryAPI.getSignatories(accountId).getKeysCount();
+    synchronized (this) {
+      // a block might have been committed after the query was answered
+      if (evictionsBefore == evictionsCount) {
+        signatoriesCounts.put(accountId, queriedCount);
+      }
+    }
+    return queriedCount;
+  }
+
+  /**
+   * Drops counts of the accounts which signatories are changed in the block
+   *
+   * @param block Iroha block in the commit order
+   */
+  @Override
+  public void process(Block block) {
+    final Set<String> changedAccounts = new HashSet<>();
+    for (Transaction transaction : block.getBlockV1().getPayload().getTransactionsList()) {
+      for (Command command : transaction.getPayload().getReducedPayload().getCommandsList()) {
+        if (command.hasAddSignatory()) {
+          changedAccounts.add(command.getAddSignatory().getAccountId());
+        } else if (command.hasRemoveSignatory()) {
+          changedAccounts.add(command.getRemoveSignatory().getAccountId());
+        }
+      }
+    }
+    if (changedAccounts.isEmpty()) {
+      return;
+    }
+    synchronized (this) {
+      evictionsCount++;
+      changedAccounts.forEach(signatoriesCounts::remove);
+    }
+  }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright D3 Ledger, Inc. All Rights Reserved.
+ *  SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules.impl.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * HTTP client for rules calling external services. Responses are always read to the end, so JDK
+ * keeps connections alive and reuses them. Calls are bounded by timeouts and guarded by a circuit
+ * breaker per host: after a number of consecutive failures calls to the host fail immediately for
+ * a while, then a single trial call decides whether the host is available again. Requests
+ * statistics are logged once a minute at most, by the requests themselves.
+ */
+public class RuleHttpClient {
+
+  private static final Logger logger = LoggerFactory.getLogger(RuleHttpClient.class);
+  private static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 5000;
+  private static final int DEFAULT_READ_TIMEOUT_MILLIS = 10000;
+  private static final int DEFAULT_FAILURE_THRESHOLD = 5;
+  private static final long DEFAULT_CIRCUIT_OPEN_MILLIS = 30000;
+  private static final int BUFFER_SIZE = 4096;
+  private static final long STATISTICS_REPORT_PERIOD_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+  private final int connectTimeoutMillis;
+  private final int readTimeoutMillis;
+  private final int failureThreshold;
+  private final long circuitOpenMillis;
+  private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+  private final AtomicLong requestsCount = new AtomicLong();
+  private final AtomicLong failuresCount = new AtomicLong();
+  private final AtomicLong rejectedCount = new AtomicLong();
+  private final AtomicLong totalLatencyNanos = new AtomicLong();
+  private final AtomicLong maxLatencyNanos = new AtomicLong();
+  private final AtomicLong nextReportTime = new AtomicLong(
+      System.currentTimeMillis() + STATISTICS_REPORT_PERIOD_MILLIS
+  );
+
+  public RuleHttpClient() {
+    this(
+        DEFAULT_CONNECT_TIMEOUT_MILLIS,
+        DEFAULT_READ_TIMEOUT_MILLIS,
+        DEFAULT_FAILURE_THRESHOLD,
+        DEFAULT_CIRCUIT_OPEN_MILLIS
+    );
+  }
+
+  /**
+   * @param connectTimeoutMillis time to establish a connection at most
+   * @param readTimeoutMillis time to wait for response data at most
+   * @param failureThreshold amount of consecutive failures opening the circuit of a host
+   * @param circuitOpenMillis time calls to a host fail immediately after the circuit is opened
+   */
+  public RuleHttpClient(int connectTimeoutMillis,
+      int readTimeoutMillis,
+      int failureThreshold,
+      long circuitOpenMillis) {
+    if (connectTimeoutMillis < 1) {
+      throw new IllegalArgumentException("Connect timeout must be positive");
+    }
+    if (readTimeoutMillis < 1) {
+      throw new IllegalArgumentException("Read timeout must be positive");
+    }
+    if (failureThreshold < 1) {
+      throw new IllegalArgumentException("Failure threshold must be positive");
+    }
+    if (circuitOpenMillis < 0) {
+      throw new IllegalArgumentException("Circuit open time must not be negative");
+    }
+
+    this.connectTimeoutMillis = connectTimeoutMillis;
+    this.readTimeoutMillis = readTimeoutMillis;
+    this.failureThreshold = failureThreshold;
+    this.circuitOpenMillis = circuitOpenMillis;
+  }
+
+  /**
+   * Performs GET request. Server errors and IO errors count as failures of the host.
+   *
+   * @param url URL to request
+   * @return {@link Response} with any status code
+   * @throws IOException on connection errors, timeouts or if the circuit of the host is open
+   */
+  public Response get(URL url) throws IOException {
+    final CircuitBreaker circuitBreaker = circuitBreakers
+        .computeIfAbsent(url.getAuthority(), host -> new CircuitBreaker());
+    if (!circuitBreaker.allowRequest()) {
+      rejectedCount.incrementAndGet();
+      reportStatisticsIfDue();
+      throw new CircuitOpenException("Circuit is open for " + url.getAuthority());
+    }
+    requestsCount.incrementAndGet();
+    final long startTime = System.nanoTime();
+    try {
+      final Response response = execute(url);
+      if (response.getCode() >= HttpURLConnection.HTTP_INTERNAL_ERROR) {
+        onFailure(circuitBreaker, url);
+      } else {
+        circuitBreaker.onSuccess();
+      }
+      return response;
+    } catch (IOException | RuntimeException e) {
+      onFailure(circuitBreaker, url);
+      throw e;
+    } finally {
+      recordLatency(url, System.nanoTime() - startTime);
+      reportStatisticsIfDue();
+    }
+  }
+
+  private Response execute(URL url) throws IOException {
+    final HttpURLConnection urlConnection = (HttpURLConnection) url.openConnection();
+    urlConnection.setConnectTimeout(connectTimeoutMillis);
+    urlConnection.setReadTimeout(readTimeoutMillis);
+    final int responseCode = urlConnection.getResponseCode();
+    final InputStream stream = responseCode < HttpURLConnection.HTTP_BAD_REQUEST
+        ? urlConnection.getInputStream()
+        : urlConnection.getErrorStream();
+    return new Response(
+        responseCode,
+        urlConnection.getResponseMessage(),
+        readFully(stream)
+    );
+  }
+
+  // Reading the stream to the end lets the connection be reused
+  private String readFully(InputStream stream) throws IOException {
+    if (stream == null) {
+      return "";
+    }
+    try (InputStream in = stream) {
+      final ByteArrayOutputStream body = new ByteArrayOutputStream();
+      final byte[] buffer = new byte[BUFFER_SIZE];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        body.write(buffer, 0, read);
+      }
+      return new String(body.toByteArray(), StandardCharsets.UTF_8);
+    }
+  }
+
+  private void onFailure(CircuitBreaker circuitBreaker, URL url) {
+    failuresCount.incrementAndGet();
+    if (circuitBreaker.onFailure()) {
+      logger.warn("Circuit is opened for {} for {}ms after {} consecutive failures",
+          url.getAuthority(),
+          circuitOpenMillis,
+          failureThreshold
+      );
+    }
+  }
+
+  private void recordLatency(URL url, long latencyNanos) {
+    totalLatencyNanos.addAndGet(latencyNanos);
+    maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+    logger.debug("Request to {} took {}ms", url, TimeUnit.NANOSECONDS.toMillis(latencyNanos));
+  }
+
+  // reported by the requests themselves not to keep a thread for it
+  private void reportStatisticsIfDue() {
+    final long now = System.currentTimeMillis();
+    final long reportTime = nextReportTime.get();
+    if (now < reportTime
+        || !nextReportTime.compareAndSet(reportTime, now + STATISTICS_REPORT_PERIOD_MILLIS)) {
+      return;
+    }
+    logger.info(
+        "Rule HTTP requests: {} performed, {} failed, {} rejected by open circuits. "
+            + "Latency: {}ms average, {}ms max",
+        getRequestsCount(),
+        getFailuresCount(),
+        getRejectedCount(),
+        String.format("%.2f", getAverageLatencyMillis()),
+        getMaxLatencyMillis()
+    );
+  }
+
+  /**
+   * @return time a single request may take at most in milliseconds
+   */
+  public long getRequestTimeoutMillis() {
+    return (long) connectTimeoutMillis + readTimeoutMillis;
+  }
+
+  /**
+   * @return amount of requests performed
+   */
+  public long getRequestsCount() {
+    return requestsCount.get();
+  }
+
+  /**
+   * @return amount of requests failed by IO errors or server errors
+   */
+  public long getFailuresCount() {
+    return failuresCount.get();
+  }
+
+  /**
+   * @return amount of requests not performed because of open circuits
+   */
+  public long getRejectedCount() {
+    return rejectedCount.get();
+  }
+
+  /**
+   * @return average latency of requests performed in milliseconds
+   */
+  public double getAverageLatencyMillis() {
+    final long count = requestsCount.get();
+    if (count == 0) {
+      return 0;
+    }
+    return (double) TimeUnit.NANOSECONDS.toMicros(totalLatencyNanos.get()) / count / 1000;
+  }
+
+  /**
+   * @return maximum latency of requests performed in milliseconds
+   */
+  public long getMaxLatencyMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.get());
+  }
+
+  /**
+   * HTTP response data
+   */
+  public static class Response {
+
+    private final int code;
+    private final String message;
+    private final String body;
+
+    Response(int code, String message, String body) {
+      this.code = code;
+      this.message = message;
+      this.body = body;
+    }
+
+    public int getCode() {
+      return code;
+    }
+
+    public String getMessage() {
+      return message;
+    }
+
+    public String getBody() {
+      return body;
+    }
+  }
+
+  /**
+   * Exception thrown if a request is not performed because the circuit of the host is open
+   */
+  public static class CircuitOpenException extends IOException {
+
+    CircuitOpenException(String s) {
+      super(s);
+    }
+  }
+
+  /**
+   * Consecutive failures counter of a host
+   */
+  private class CircuitBreaker {
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean trialInProgress = new AtomicBoolean();
+    private volatile long openedUntil;
+
+    boolean allowRequest() {
+      if (consecutiveFailures.get() < failureThreshold) {
+        return true;
+      }
+      // only one trial request is let through once the open time passes
+      return System.currentTimeMillis() >= openedUntil
+          && trialInProgress.compareAndSet(false, true);
+    }
+
+    void onSuccess() {
+      consecutiveFailures.set(0);
+      trialInProgress.set(false);
+    }
+
+    // returns true if the circuit is opened by the failure
+    boolean onFailure() {
+      final int failures = consecutiveFailures.incrementAndGet();
+      trialInProgress.set(false);
+      if (failures >= failureThreshold) {
+        openedUntil = System.currentTimeMillis() + circuitOpenMillis;
+        return true;
+      }
+      return false;
+    }
+  }
+}
@@ -7,33 +7,83 @@ package iroha.validation.rules.impl.lykke;
 
 import static jp.co.soramitsu.iroha.java.detail.Const.accountIdDelimiter;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import iroha.protocol.TransactionOuterClass.Transaction;
 import iroha.validation.rules.Rule;
+import iroha.validation.rules.impl.http.RuleHttpClient;
+import iroha.validation.rules.impl.http.RuleHttpClient.Response;
 import iroha.validation.verdict.ValidationResult;
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
 import java.net.URL;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Rule implementation to call lykke KYC endpoint and check if it's status is correct for a
- * transaction creator
+ * transaction creator. KYC results are cached per account: successful ones for a long time and
+ * unsuccessful ones shortly. Expired results are evicted and the amount of cached results is
+ * bounded. Concurrent checks of the same account share a single call and wait for it no longer
+ * than a single HTTP request may take.
  */
 public class LykkeRule implements Rule {
 
   private static final String LYKKE_SUCCESS_STATUS = "\"Ok\"";
+  private static final long DEFAULT_POSITIVE_TTL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+  private static final long DEFAULT_NEGATIVE_TTL_MILLIS = TimeUnit.SECONDS.toMillis(30);
+  private static final long MAX_CACHED_RESULTS = 100_000;
 
   private final String url;
+  private final RuleHttpClient httpClient;
+  private final long positiveTtlMillis;
+  private final long negativeTtlMillis;
+  private final Cache<String, CachedResult> results;
+  private final Map<String, CompletableFuture<ValidationResult>> inFlightChecks =
+      new ConcurrentHashMap<>();
 
   public LykkeRule(String url) {
+    this(url, new RuleHttpClient());
+  }
+
+  public LykkeRule(String url, RuleHttpClient httpClient) {
+    this(url, httpClient, DEFAULT_POSITIVE_TTL_MILLIS, DEFAULT_NEGATIVE_TTL_MILLIS);
+  }
+
+  /**
+   * @param url Lykke KYC endpoint URL
+   * @param httpClient {@link RuleHttpClient} to call Lykke with
+   * @param positiveTtlMillis time a successful KYC result is reused, not cached if 0
+   * @param negativeTtlMillis time an unsuccessful KYC result is reused, not cached if 0
+   */
+  public LykkeRule(String url,
+      RuleHttpClient httpClient,
+      long positiveTtlMillis,
+      long negativeTtlMillis) {
+    Objects.requireNonNull(httpClient, "HTTP client must not be null");
+    if (positiveTtlMillis < 0 || negativeTtlMillis < 0) {
+      throw new IllegalArgumentException("KYC results TTL must not be negative");
+    }
+
     this.url = url;
+    this.httpClient = httpClient;
+    this.positiveTtlMillis = positiveTtlMillis;
+    this.negativeTtlMillis = negativeTtlMillis;
+    // negative results expire earlier, that is checked on lookup
+    this.results = CacheBuilder.newBuilder()
+        .expireAfterWrite(Math.max(positiveTtlMillis, negativeTtlMillis), TimeUnit.MILLISECONDS)
+        .maximumSize(MAX_CACHED_RESULTS)
+        .build();
   }
 
   @Override
   public ValidationResult isSatisfiedBy(Transaction transaction) {
     try {
-      return performCheck(
+      return check(
           transaction
               .getPayload()
               .getReducedPayload()
@@ -44,35 +94,142 @@ public class LykkeRule implements Rule {
     }
   }
 
-  private ValidationResult performCheck(String accountId) throws IOException {
+  private ValidationResult check(String accountId) throws Exception {
+    final CachedResult cachedResult = results.getIfPresent(accountId);
+    if (cachedResult != null) {
+      if (!cachedResult.isExpired()) {
+        return cachedResult.getResult();
+      }
+      results.asMap().remove(accountId, cachedResult);
+    }
+    final CompletableFuture<ValidationResult> check = new CompletableFuture<>();
+    final CompletableFuture<ValidationResult> inFlightCheck = inFlightChecks
+        .putIfAbsent(accountId, check);
+    if (inFlightCheck != null) {
+      // another transaction of the account is being checked
+      try {
+        return inFlightCheck.get(httpClient.getRequestTimeoutMillis(), TimeUnit.MILLISECONDS);
+      } catch (TimeoutException e) {
+        throw new TimeoutException("No KYC status of " + accountId + " in time");
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof Exception) {
+          throw (Exception) e.getCause();
+        }
+        throw e;
+      }
+    }
+    try {
+      final KycCheck kycCheck = performCheck(accountId);
+      cache(accountId, kycCheck);
+      check.complete(kycCheck.getResult());
+      return kycCheck.getResult();
+    } catch (Exception e) {
+      check.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlightChecks.remove(accountId, check);
+    }
+  }
+
+  // Interaction failures are not cached
+  private void cache(String accountId, KycCheck kycCheck) {
+    final long ttlMillis;
+    switch (kycCheck.getOutcome()) {
+      case VALIDATED:
+        ttlMillis = positiveTtlMillis;
+        break;
+      case KYC_REJECTED:
+        ttlMillis = negativeTtlMillis;
+        break;
+      default:
+        return;
+    }
+    if (ttlMillis > 0) {
+      results.put(
+          accountId,
+          new CachedResult(kycCheck.getResult(), System.currentTimeMillis() + ttlMillis)
+      );
+    }
+  }
+
+  private KycCheck performCheck(String accountId) throws IOException {
     URL requestUrl = new URL(url + accountId.split(accountIdDelimiter)[0]);
-    HttpURLConnection urlConnection = (HttpURLConnection) requestUrl.openConnection();
-    final int responseCode = urlConnection.getResponseCode();
+    final Response response = httpClient.get(requestUrl);
+    final int responseCode = response.getCode();
     if (responseCode != 200) {
-      return ValidationResult.REJECTED(
-          "Got wrong response from Lykke: "
-              + responseCode + " " + urlConnection.getResponseMessage()
+      return new KycCheck(
+          KycOutcome.TRANSPORT_ERROR,
+          ValidationResult.REJECTED(
+              "Got wrong response from Lykke: "
+                  + responseCode + " " + response.getMessage()
+          )
       );
     }
-    final String status = getMessage(urlConnection);
+    // line breaks were never a part of the status
+    final String status = response.getBody().trim();
     if (status.equals(LYKKE_SUCCESS_STATUS)) {
-      return ValidationResult.VALIDATED;
+      return new KycCheck(KycOutcome.VALIDATED, ValidationResult.VALIDATED);
     } else {
-      return ValidationResult.REJECTED(
-          "Lykke KYC status of " + accountId + " was: " + status + ". Expected: "
-              + LYKKE_SUCCESS_STATUS);
+      return new KycCheck(
+          KycOutcome.KYC_REJECTED,
+          ValidationResult.REJECTED(
+              "Lykke KYC status of " + accountId + " was: " + status + ". Expected: "
+                  + LYKKE_SUCCESS_STATUS
+          )
+      );
     }
   }
 
-  private String getMessage(HttpURLConnection urlConnection) throws IOException {
-    StringBuilder response = new StringBuilder();
-    try (BufferedReader in = new BufferedReader(
-        new InputStreamReader(urlConnection.getInputStream()))) {
-      String inputLine;
-      while ((inputLine = in.readLine()) != null) {
-        response.append(inputLine);
-      }
+  /**
+   * Kind of a Lykke call outcome
+   */
+  private enum KycOutcome {
+    VALIDATED,
+    KYC_REJECTED,
+    TRANSPORT_ERROR
+  }
+
+  /**
+   * Lykke call outcome with the validation result built from it
+   */
+  private static class KycCheck {
+
+    private final KycOutcome outcome;
+    private final ValidationResult result;
+
+    KycCheck(KycOutcome outcome, ValidationResult result) {
+      this.outcome = outcome;
+      this.result = result;
+    }
+
+    KycOutcome getOutcome() {
+      return outcome;
+    }
+
+    ValidationResult getResult() {
+      return result;
+    }
+  }
+
+  /**
+   * KYC result with its expiration time
+   */
+  private static class CachedResult {
+
+    private final ValidationResult result;
+    private final long expirationTime;
+
+    CachedResult(ValidationResult result, long expirationTime) {
+      this.result = result;
+      this.expirationTime = expirationTime;
+    }
+
+    ValidationResult getResult() {
+      return result;
+    }
+
+    boolean isExpired() {
+      return System.currentTimeMillis() >= expirationTime;
     }
-    return response.toString();
   }
 }
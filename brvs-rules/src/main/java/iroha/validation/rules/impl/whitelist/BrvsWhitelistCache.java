@@ -0,0 +1,169 @@
+/*
+ * Copyright D3 Ledger, Inc. All Rights Reserved.
+ *  SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules.impl.whitelist;
+
+import iroha.protocol.BlockOuterClass.Block;
+import iroha.protocol.Commands.Command;
+import iroha.protocol.Commands.SetAccountDetail;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.validation.rules.BlockProcessor;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import jp.co.soramitsu.iroha.java.QueryAPI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-memory projection of whitelists set by BRVS. A whitelist is queried from Iroha once and then
+ * kept up to date by whitelist details BRVS sets in committed blocks. Must be registered as a
+ * {@link BlockProcessor} to be used.
+ * <p>
+ * Every whitelist is versioned by the creation time of the BRVS transaction that set it, so a
+ * block processed after a newer whitelist was {@link #update updated} does not overwrite it.
+ */
+public class BrvsWhitelistCache implements BlockProcessor {
+
+  private static final Logger logger = LoggerFactory.getLogger(BrvsWhitelistCache.class);
+  // version of whitelists queried from Iroha, any committed one replaces them
+  private static final long QUERIED_VERSION = Long.MIN_VALUE;
+
+  private final QueryAPI queryAPI;
+  private final String brvsAccountId;
+  // client account id -> whitelist key -> (address -> validation time) with its version
+  private final Map<String, Map<String, VersionedWhitelist>> whitelists =
+      new ConcurrentHashMap<>();
+
+  public BrvsWhitelistCache(QueryAPI queryAPI) {
+    Objects.requireNonNull(queryAPI, "Query API must not be null");
+
+    this.queryAPI = queryAPI;
+    this.brvsAccountId = queryAPI.getAccountId();
+  }
+
+  /**
+   * Get whitelist that was set by BRVS
+   *
+   * @param clientId - storage of details
+   * @param whitelistKey - details key
+   * @return unmodifiable Map of (address to validation time)
+   * @throws IllegalAccessException on invalid response from Iroha
+   */
+  public Map<String, Long> getWhitelist(String clientId, String whitelistKey)
+      throws IllegalAccessException {
+    final Map<String, VersionedWhitelist> clientWhitelists = getClientWhitelists(clientId);
+    final VersionedWhitelist whitelist = clientWhitelists.get(whitelistKey);
+    if (whitelist != null) {
+      return whitelist.getWhitelist();
+    }
+    final VersionedWhitelist queriedWhitelist = new VersionedWhitelist(
+        Collections.unmodifiableMap(
+            WhitelistUtils.getBRVSWhitelist(queryAPI, clientId, whitelistKey)
+        ),
+        QUERIED_VERSION
+    );
+    // a whitelist committed meanwhile is newer than the queried one
+    final VersionedWhitelist committedWhitelist = clientWhitelists
+        .putIfAbsent(whitelistKey, queriedWhitelist);
+    return (committedWhitelist != null ? committedWhitelist : queriedWhitelist).getWhitelist();
+  }
+
+  /**
+   * Applies whitelists set by BRVS in the block
+   *
+   * @param block Iroha block in the commit order
+   */
+  @Override
+  public void process(Block block) {
+    for (Transaction transaction : block.getBlockV1().getPayload().getTransactionsList()) {
+      if (!transaction.getPayload().getReducedPayload().getCreatorAccountId()
+          .equals(brvsAccountId)) {
+        continue;
+      }
+      final long version = transaction.getPayload().getReducedPayload().getCreatedTime();
+      transaction.getPayload().getReducedPayload().getCommandsList()
+          .stream()
+          .filter(Command::hasSetAccountDetail)
+          .map(Command::getSetAccountDetail)
+          .filter(detail -> detail.getKey().equals(WhitelistUtils.ETH_WHITELIST_KEY)
+              || detail.getKey().equals(WhitelistUtils.BTC_WHITELIST_KEY))
+          .forEach(detail -> apply(detail, version));
+    }
+  }
+
+  /**
+   * Sets a whitelist BRVS has just committed, so it is visible before the block is processed
+   *
+   * @param clientId - storage of details
+   * @param whitelistKey - details key
+   * @param whitelist - Map of (address to validation time)
+   * @param version - creation time of the BRVS transaction that set the whitelist
+   */
+  void update(String clientId, String whitelistKey, Map<String, Long> whitelist, long version) {
+    put(clientId, whitelistKey, Collections.unmodifiableMap(new HashMap<>(whitelist)), version);
+  }
+
+  private void apply(SetAccountDetail detail, long version) {
+    try {
+      put(
+          detail.getAccountId(),
+          detail.getKey(),
+          Collections.unmodifiableMap(WhitelistUtils.deserializeBRVSWhitelist(detail.getValue())),
+          version
+      );
+      logger.debug("Updated {} of {}", detail.getKey(), detail.getAccountId());
+    } catch (Exception e) {
+      // queried again on the next check unless a newer one is set
+      getClientWhitelists(detail.getAccountId()).computeIfPresent(
+          detail.getKey(),
+          (key, current) -> current.getVersion() > version ? current : null
+      );
+      logger.error("Couldn't parse whitelist " + detail.getKey() + " of "
+          + detail.getAccountId(), e);
+    }
+  }
+
+  // older whitelists never replace newer ones
+  private void put(String clientId,
+      String whitelistKey,
+      Map<String, Long> whitelist,
+      long version) {
+    getClientWhitelists(clientId).compute(
+        whitelistKey,
+        (key, current) -> current != null && current.getVersion() > version
+            ? current
+            : new VersionedWhitelist(whitelist, version)
+    );
+  }
+
+  private Map<String, VersionedWhitelist> getClientWhitelists(String clientId) {
+    return whitelists.computeIfAbsent(clientId, id -> new ConcurrentHashMap<>());
+  }
+
+  /**
+   * Whitelist with the creation time of the transaction that set it
+   */
+  private static class VersionedWhitelist {
+
+    private final Map<String, Long> whitelist;
+    private final long version;
+
+    VersionedWhitelist(Map<String, Long> whitelist, long version) {
+      this.whitelist = whitelist;
+      this.version = version;
+    }
+
+    Map<String, Long> getWhitelist() {
+      return whitelist;
+    }
+
+    long getVersion() {
+      return version;
+    }
+  }
+}
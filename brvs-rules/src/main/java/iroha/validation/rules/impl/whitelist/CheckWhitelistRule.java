@@ -32,6 +32,8 @@ public class CheckWhitelistRule implements Rule {
   private final QueryAPI queryAPI;
   private final String withdrawalAccount;
   private final List<String> exceptionAssets;
+  // whitelists are queried from Iroha for every transfer if null
+  private final BrvsWhitelistCache whitelistCache;
 
   public CheckWhitelistRule(QueryAPI queryAPI, String withdrawalAccount, String exceptionAssets) {
     this(queryAPI, withdrawalAccount,
@@ -44,14 +46,43 @@ public class CheckWhitelistRule implements Rule {
 
   public CheckWhitelistRule(QueryAPI queryAPI, String withdrawalAccount,
       List<String> exceptionAssets) {
+    this(queryAPI, withdrawalAccount, exceptionAssets, null);
+  }
+
+  public CheckWhitelistRule(BrvsWhitelistCache whitelistCache, String withdrawalAccount,
+      String exceptionAssets) {
+    this(whitelistCache, withdrawalAccount,
+        Arrays.stream(exceptionAssets.split(",")).collect(Collectors.toList()));
+  }
+
+  public CheckWhitelistRule(BrvsWhitelistCache whitelistCache, String withdrawalAccount) {
+    this(whitelistCache, withdrawalAccount, new ArrayList<>());
+  }
+
+  /**
+   * @param whitelistCache {@link BrvsWhitelistCache} kept up to date with committed blocks
+   * @param withdrawalAccount withdrawal account id
+   * @param exceptionAssets assets not checked
+   */
+  public CheckWhitelistRule(BrvsWhitelistCache whitelistCache, String withdrawalAccount,
+      List<String> exceptionAssets) {
+    this(null, withdrawalAccount, exceptionAssets,
+        Objects.requireNonNull(whitelistCache, "Whitelist cache must not be null"));
+  }
+
+  private CheckWhitelistRule(QueryAPI queryAPI, String withdrawalAccount,
+      List<String> exceptionAssets, BrvsWhitelistCache whitelistCache) {
     if (Strings.isNullOrEmpty(withdrawalAccount)) {
       throw new IllegalArgumentException(
           "Withdrawal Account ID must not be neither null nor empty");
     }
     this.withdrawalAccount = withdrawalAccount;
 
-    Objects.requireNonNull(queryAPI, "Query API must not be null");
+    if (whitelistCache == null) {
+      Objects.requireNonNull(queryAPI, "Query API must not be null");
+    }
     this.queryAPI = queryAPI;
+    this.whitelistCache = whitelistCache;
     Objects.requireNonNull(exceptionAssets, "Exception assets must not be null");
     this.exceptionAssets = exceptionAssets;
   }
@@ -87,11 +118,9 @@ public class CheckWhitelistRule implements Rule {
         String whitelistKey = WhitelistUtils.assetToWhitelistKey.get(assetDomain);
 
         // get old whitelist that was set by BRVS as Pairs(address -> validation_time)
-        Map<String, Long> whitelistValidated = WhitelistUtils.getBRVSWhitelist(
-            queryAPI,
-            clientId,
-            whitelistKey
-        );
+        Map<String, Long> whitelistValidated = whitelistCache != null
+            ? whitelistCache.getWhitelist(clientId, whitelistKey)
+            : WhitelistUtils.getBRVSWhitelist(queryAPI, clientId, whitelistKey);
 
         long now = System.currentTimeMillis() / 1000;
 
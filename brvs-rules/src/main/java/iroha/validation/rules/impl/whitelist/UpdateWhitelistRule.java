@@ -10,24 +10,28 @@ import iroha.protocol.Commands.SetAccountDetail;
 import iroha.protocol.TransactionOuterClass;
 import iroha.validation.rules.Rule;
 import iroha.validation.verdict.ValidationResult;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import jp.co.soramitsu.iroha.java.QueryAPI;
 import jp.co.soramitsu.iroha.java.Transaction;
+import jp.co.soramitsu.iroha.java.TransactionBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * A rule that is triggered on a client whitelist update. Checks the difference in new and old
- * whitelist and updates BRVS records with validation period.
+ * whitelist and updates BRVS records with validation period. If a {@link WhitelistUpdateWriter}
+ * is given the records are updated asynchronously, otherwise during the validation.
  */
 public class UpdateWhitelistRule implements Rule {
 
   private static final Logger logger = LoggerFactory.getLogger(UpdateWhitelistRule.class);
 
   private final QueryAPI queryAPI;
+  private final WhitelistUpdateWriter whitelistUpdateWriter;
 
   /**
    * When new address will be valid
@@ -37,6 +41,20 @@ public class UpdateWhitelistRule implements Rule {
   public UpdateWhitelistRule(QueryAPI queryAPI, long validationPeriod) {
     Objects.requireNonNull(queryAPI, "Query API must not be null");
     this.queryAPI = queryAPI;
+    this.whitelistUpdateWriter = null;
+
+    this.validationPeriod = validationPeriod;
+  }
+
+  /**
+   * @param whitelistUpdateWriter {@link WhitelistUpdateWriter} BRVS records are updated by
+   * @param validationPeriod time in seconds new addresses become valid after
+   */
+  public UpdateWhitelistRule(WhitelistUpdateWriter whitelistUpdateWriter,
+      long validationPeriod) {
+    Objects.requireNonNull(whitelistUpdateWriter, "Whitelist update writer must not be null");
+    this.queryAPI = null;
+    this.whitelistUpdateWriter = whitelistUpdateWriter;
 
     this.validationPeriod = validationPeriod;
   }
@@ -70,7 +88,10 @@ public class UpdateWhitelistRule implements Rule {
   private ValidationResult checkDetails(List<SetAccountDetail> details,
       String clientId,
       long createdTime) {
-
+    if (whitelistUpdateWriter != null) {
+      return submitDetails(details, clientId, createdTime);
+    }
+    final Map<String, Map<String, Long>> newWhitelists = new LinkedHashMap<>();
     for (SetAccountDetail detail : details) {
       try {
         String whitelistKey = detail.getKey();
@@ -90,39 +111,73 @@ public class UpdateWhitelistRule implements Rule {
         logger.info("ValidationTime: " + validationTime);
 
         // Prepare new whitelist
-        // remove old addresses that user has removed
-        Map<String, Long> newWhitelistValidated = oldWhitelistValidated.entrySet().stream()
-            .filter(address -> clientWhitelist.contains(address.getKey()))
-            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-
-        // add new from user whitelist with new validationTime
-        newWhitelistValidated.putAll(
-            clientWhitelist.stream()
-                .filter(address -> !oldWhitelistValidated.containsKey(address))
-                .collect(Collectors.toMap(a -> a, t -> validationTime))
-        );
+        Map<String, Long> newWhitelistValidated = WhitelistUpdateWriter
+            .mergeWhitelist(oldWhitelistValidated, clientWhitelist, validationTime);
 
         if (newWhitelistValidated.equals(oldWhitelistValidated)) {
           logger.info("No changes in whitelist, nothing to update");
         } else {
-          String jsonNewBrvsWhitelist = WhitelistUtils
-              .serializeBRVSWhitelist(newWhitelistValidated);
-          logger.info("Send whitelist to Iroha: " + jsonNewBrvsWhitelist);
-
-          queryAPI.getApi().transactionSync(
-              Transaction.builder(queryAPI.getAccountId())
-                  .setCreatedTime(createdTime)
-                  .setAccountDetail(clientId, whitelistKey,
-                      WhitelistUtils.irohaEscape(jsonNewBrvsWhitelist))
-                  .sign(queryAPI.getKeyPair())
-                  .build()
-          );
+          newWhitelists.put(whitelistKey, newWhitelistValidated);
         }
       } catch (Exception e) {
         logger.error("Error while updating whitelist ", e);
         return ValidationResult.REJECTED("Error while updating whitelist. " + e.getMessage());
       }
     }
+    if (newWhitelists.isEmpty()) {
+      return ValidationResult.VALIDATED;
+    }
+    try {
+      // all the whitelists of the transaction are set by a single BRVS transaction
+      final TransactionBuilder transactionBuilder = Transaction.builder(queryAPI.getAccountId())
+          .setCreatedTime(createdTime);
+      newWhitelists.forEach((whitelistKey, whitelist) -> {
+        String jsonNewBrvsWhitelist = WhitelistUtils.serializeBRVSWhitelist(whitelist);
+        logger.info("Send whitelist to Iroha: " + jsonNewBrvsWhitelist);
+        transactionBuilder.setAccountDetail(clientId, whitelistKey,
+            WhitelistUtils.irohaEscape(jsonNewBrvsWhitelist));
+      });
+      queryAPI.getApi().transactionSync(
+          transactionBuilder.sign(queryAPI.getKeyPair()).build()
+      );
+    } catch (Exception e) {
+      logger.error("Error while updating whitelist ", e);
+      return ValidationResult.REJECTED("Error while updating whitelist. " + e.getMessage());
+    }
+    return ValidationResult.VALIDATED;
+  }
+
+  /**
+   * Passes client whitelists to the writer, only malformed whitelists are rejected
+   */
+  private ValidationResult submitDetails(List<SetAccountDetail> details,
+      String clientId,
+      long createdTime) {
+    final Map<String, List<String>> clientWhitelists = new LinkedHashMap<>();
+    for (SetAccountDetail detail : details) {
+      try {
+        clientWhitelists.put(
+            detail.getKey(),
+            WhitelistUtils.deserializeClientWhitelist(detail.getValue())
+        );
+      } catch (Exception e) {
+        logger.error("Error while parsing whitelist ", e);
+        return ValidationResult.REJECTED("Error while parsing whitelist. " + e.getMessage());
+      }
+    }
+    // When whitelist is validated
+    final long validationTime = System.currentTimeMillis() / 1000 + validationPeriod;
+    clientWhitelists.forEach((whitelistKey, clientWhitelist) -> {
+      logger.info("Client " + clientId + " changed whitelist " + whitelistKey + " to "
+          + clientWhitelist);
+      whitelistUpdateWriter.submit(
+          clientId,
+          whitelistKey,
+          clientWhitelist,
+          validationTime,
+          createdTime
+      );
+    });
     return ValidationResult.VALIDATED;
   }
 }
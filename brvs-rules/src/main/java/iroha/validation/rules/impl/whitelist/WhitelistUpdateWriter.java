@@ -0,0 +1,361 @@
+/*
+ * Copyright D3 Ledger, Inc. All Rights Reserved.
+ *  SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules.impl.whitelist;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import iroha.protocol.Endpoint.ToriiResponse;
+import iroha.protocol.Endpoint.TxStatus;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import jp.co.soramitsu.iroha.java.QueryAPI;
+import jp.co.soramitsu.iroha.java.Transaction;
+import jp.co.soramitsu.iroha.java.TransactionBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Asynchronous writer of BRVS whitelists. Client whitelist changes are accumulated for a short
+ * period and then written to Iroha in a single BRVS transaction, only the latest change of every
+ * (account, whitelist key) pair is written. If the shared transaction fails, the changes are sent
+ * one by one, so a single bad change does not fail the others.
+ * <p>
+ * Failed changes are retried with an exponential backoff unless newer ones were submitted
+ * meanwhile, and dropped with an error logged after {@link #MAX_ATTEMPTS} attempts. Note that
+ * such failures are invisible to the client: its transaction is already VALIDATED by the time the
+ * whitelist is written, while a failed synchronous write used to get it REJECTED.
+ */
+public class WhitelistUpdateWriter implements Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(WhitelistUpdateWriter.class);
+  private static final long DEFAULT_FLUSH_DELAY_MILLIS = 1000;
+  private static final long MAX_RETRY_DELAY_MILLIS = 60000;
+  static final int MAX_ATTEMPTS = 5;
+
+  private final QueryAPI queryAPI;
+  // previous whitelists are queried from Iroha if null
+  private final BrvsWhitelistCache whitelistCache;
+  private final long flushDelayMillis;
+  // guarded by this
+  private Map<WhitelistKey, PendingUpdate> pendingUpdates = new LinkedHashMap<>();
+  private final AtomicBoolean flushScheduled = new AtomicBoolean();
+  private final ScheduledExecutorService flushExecutor = Executors
+      .newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+          .setNameFormat("brvs:whitelist-writer:th-%d")
+          .setDaemon(true)
+          .build()
+      );
+
+  public WhitelistUpdateWriter(QueryAPI queryAPI) {
+    this(queryAPI, null, DEFAULT_FLUSH_DELAY_MILLIS);
+  }
+
+  public WhitelistUpdateWriter(QueryAPI queryAPI, BrvsWhitelistCache whitelistCache) {
+    this(queryAPI, whitelistCache, DEFAULT_FLUSH_DELAY_MILLIS);
+  }
+
+  /**
+   * @param queryAPI {@link QueryAPI} of the BRVS account
+   * @param whitelistCache {@link BrvsWhitelistCache} to read previous whitelists from, Iroha is
+   * queried if null
+   * @param flushDelayMillis time changes are accumulated for before being written
+   */
+  public WhitelistUpdateWriter(QueryAPI queryAPI,
+      BrvsWhitelistCache whitelistCache,
+      long flushDelayMillis) {
+    Objects.requireNonNull(queryAPI, "Query API must not be null");
+    if (flushDelayMillis < 0) {
+      throw new IllegalArgumentException("Flush delay must not be negative");
+    }
+
+    this.queryAPI = queryAPI;
+    this.whitelistCache = whitelistCache;
+    this.flushDelayMillis = flushDelayMillis;
+  }
+
+  /**
+   * Merges a client whitelist into a BRVS one. Addresses removed by the client are removed, new
+   * addresses get the validation time given.
+   *
+   * @param oldWhitelistValidated whitelist set by BRVS as (address to validation time)
+   * @param clientWhitelist whitelist set by the client
+   * @param validationTime time new addresses become valid at
+   * @return new BRVS whitelist
+   */
+  static Map<String, Long> mergeWhitelist(Map<String, Long> oldWhitelistValidated,
+      List<String> clientWhitelist,
+      long validationTime) {
+    // remove old addresses that user has removed
+    final Map<String, Long> newWhitelistValidated = oldWhitelistValidated.entrySet().stream()
+        .filter(address -> clientWhitelist.contains(address.getKey()))
+        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+
+    // add new from user whitelist with new validationTime
+    clientWhitelist.stream()
+        .filter(address -> !oldWhitelistValidated.containsKey(address))
+        .forEach(address -> newWhitelistValidated.put(address, validationTime));
+    return newWhitelistValidated;
+  }
+
+  /**
+   * Schedules a client whitelist to be reflected in the BRVS whitelist. Replaces a pending change
+   * of the same whitelist if any.
+   *
+   * @param clientId client account id
+   * @param whitelistKey whitelist details key
+   * @param clientWhitelist whitelist set by the client
+   * @param validationTime time new addresses become valid at
+   * @param createdTime creation time of the client transaction
+   */
+  public void submit(String clientId,
+      String whitelistKey,
+      List<String> clientWhitelist,
+      long validationTime,
+      long createdTime) {
+    synchronized (this) {
+      pendingUpdates.put(
+          new WhitelistKey(clientId, whitelistKey),
+          new PendingUpdate(clientWhitelist, validationTime, createdTime)
+      );
+    }
+    scheduleFlush();
+  }
+
+  private void scheduleFlush() {
+    if (flushExecutor.isShutdown()) {
+      return;
+    }
+    if (flushScheduled.compareAndSet(false, true)) {
+      flushExecutor.schedule(() -> {
+        flushScheduled.set(false);
+        flush();
+      }, flushDelayMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  // retries are not coalesced with regular flushes not to be postponed by new submits
+  private void scheduleRetry(int attempts) {
+    if (flushExecutor.isShutdown()) {
+      return;
+    }
+    final long retryDelayMillis = Math.min(
+        MAX_RETRY_DELAY_MILLIS,
+        Math.max(flushDelayMillis, 1) << attempts
+    );
+    flushExecutor.schedule(this::flush, retryDelayMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * @return amount of whitelist changes awaiting to be written
+   */
+  public synchronized int getPendingCount() {
+    return pendingUpdates.size();
+  }
+
+  /**
+   * Writes all the pending changes in a single BRVS transaction and waits for its terminal status.
+   * The changes are written one by one if the transaction fails.
+   */
+  public void flush() {
+    // writes must not be reordered
+    synchronized (flushExecutor) {
+      final Map<WhitelistKey, PendingUpdate> updates;
+      synchronized (this) {
+        if (pendingUpdates.isEmpty()) {
+          return;
+        }
+        updates = pendingUpdates;
+        pendingUpdates = new LinkedHashMap<>();
+      }
+      final Map<WhitelistKey, PendingUpdate> failedUpdates = new LinkedHashMap<>();
+      final Map<WhitelistKey, Map<String, Long>> newWhitelists = new LinkedHashMap<>();
+      long createdTime = 0;
+      for (Map.Entry<WhitelistKey, PendingUpdate> entry : updates.entrySet()) {
+        final WhitelistKey key = entry.getKey();
+        final PendingUpdate update = entry.getValue();
+        try {
+          final Map<String, Long> oldWhitelistValidated = getBRVSWhitelist(key);
+          final Map<String, Long> newWhitelistValidated = mergeWhitelist(
+              oldWhitelistValidated,
+              update.clientWhitelist,
+              update.validationTime
+          );
+          if (newWhitelistValidated.equals(oldWhitelistValidated)) {
+            logger.info("No changes in whitelist {} of {}, nothing to update", key.whitelistKey,
+                key.clientId);
+            continue;
+          }
+          newWhitelists.put(key, newWhitelistValidated);
+          createdTime = Math.max(createdTime, update.createdTime);
+        } catch (Exception e) {
+          logger.error("Error while updating whitelist " + key.whitelistKey + " of "
+              + key.clientId, e);
+          failedUpdates.put(key, update);
+        }
+      }
+      if (!newWhitelists.isEmpty()) {
+        try {
+          send(newWhitelists, createdTime);
+        } catch (Exception e) {
+          logger.error("Error while sending whitelists to Iroha", e);
+          if (newWhitelists.size() == 1) {
+            newWhitelists.keySet().forEach(key -> failedUpdates.put(key, updates.get(key)));
+          } else {
+            sendSeparately(newWhitelists, updates, failedUpdates);
+          }
+        }
+      }
+      retry(failedUpdates);
+    }
+  }
+
+  // isolates failing changes so they do not fail the others
+  private void sendSeparately(Map<WhitelistKey, Map<String, Long>> newWhitelists,
+      Map<WhitelistKey, PendingUpdate> updates,
+      Map<WhitelistKey, PendingUpdate> failedUpdates) {
+    newWhitelists.forEach((key, whitelist) -> {
+      final PendingUpdate update = updates.get(key);
+      try {
+        send(Collections.singletonMap(key, whitelist), update.createdTime);
+      } catch (Exception e) {
+        logger.error("Error while sending whitelist " + key.whitelistKey + " of "
+            + key.clientId + " to Iroha", e);
+        failedUpdates.put(key, update);
+      }
+    });
+  }
+
+  private void retry(Map<WhitelistKey, PendingUpdate> failedUpdates) {
+    // the retry is scheduled for the change failed the least times
+    int minAttempts = Integer.MAX_VALUE;
+    synchronized (this) {
+      for (Map.Entry<WhitelistKey, PendingUpdate> entry : failedUpdates.entrySet()) {
+        final WhitelistKey key = entry.getKey();
+        final PendingUpdate update = entry.getValue();
+        final int attempts = update.attempts + 1;
+        if (attempts >= MAX_ATTEMPTS) {
+          logger.error("Whitelist {} of {} is not written after {} attempts, the change is dropped",
+              key.whitelistKey, key.clientId, attempts);
+          continue;
+        }
+        // newer changes must not be overwritten by the failed ones
+        if (pendingUpdates.putIfAbsent(key, update.failed()) == null) {
+          minAttempts = Math.min(minAttempts, attempts);
+        }
+      }
+    }
+    if (minAttempts < Integer.MAX_VALUE) {
+      scheduleRetry(minAttempts);
+    }
+  }
+
+  private Map<String, Long> getBRVSWhitelist(WhitelistKey key) throws IllegalAccessException {
+    if (whitelistCache != null) {
+      return whitelistCache.getWhitelist(key.clientId, key.whitelistKey);
+    }
+    return WhitelistUtils.getBRVSWhitelist(queryAPI, key.clientId, key.whitelistKey);
+  }
+
+  private void send(Map<WhitelistKey, Map<String, Long>> newWhitelists, long createdTime) {
+    final TransactionBuilder transactionBuilder = Transaction.builder(queryAPI.getAccountId())
+        .setCreatedTime(createdTime);
+    newWhitelists.forEach((key, whitelist) -> {
+      final String jsonNewBrvsWhitelist = WhitelistUtils.serializeBRVSWhitelist(whitelist);
+      logger.info("Send whitelist {} of {} to Iroha: {}", key.whitelistKey, key.clientId,
+          jsonNewBrvsWhitelist);
+      transactionBuilder.setAccountDetail(key.clientId, key.whitelistKey,
+          WhitelistUtils.irohaEscape(jsonNewBrvsWhitelist));
+    });
+    final ToriiResponse response = queryAPI.getApi().transaction(
+        transactionBuilder.sign(queryAPI.getKeyPair()).build()
+    ).blockingLast();
+    if (response.getTxStatus() != TxStatus.COMMITTED) {
+      throw new IllegalStateException(
+          "Whitelists transaction " + response.getTxHash() + " is not committed. Status: "
+              + response.getTxStatus() + ", error: " + response.getErrOrCmdName()
+      );
+    }
+    if (whitelistCache != null) {
+      // the block may be processed after the next flush
+      newWhitelists.forEach((key, whitelist) ->
+          whitelistCache.update(key.clientId, key.whitelistKey, whitelist, createdTime)
+      );
+    }
+  }
+
+  /**
+   * Writes the pending changes and stops the writer
+   */
+  @Override
+  public void close() {
+    flushExecutor.shutdownNow();
+    flush();
+  }
+
+  private static class WhitelistKey {
+
+    private final String clientId;
+    private final String whitelistKey;
+
+    WhitelistKey(String clientId, String whitelistKey) {
+      this.clientId = clientId;
+      this.whitelistKey = whitelistKey;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      WhitelistKey that = (WhitelistKey) o;
+      return clientId.equals(that.clientId) && whitelistKey.equals(that.whitelistKey);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(clientId, whitelistKey);
+    }
+  }
+
+  private static class PendingUpdate {
+
+    private final List<String> clientWhitelist;
+    private final long validationTime;
+    private final long createdTime;
+    // failed write attempts
+    private final int attempts;
+
+    PendingUpdate(List<String> clientWhitelist, long validationTime, long createdTime) {
+      this(clientWhitelist, validationTime, createdTime, 0);
+    }
+
+    private PendingUpdate(List<String> clientWhitelist,
+        long validationTime,
+        long createdTime,
+        int attempts) {
+      this.clientWhitelist = new ArrayList<>(clientWhitelist);
+      this.validationTime = validationTime;
+      this.createdTime = createdTime;
+      this.attempts = attempts;
+    }
+
+    PendingUpdate failed() {
+      return new PendingUpdate(clientWhitelist, validationTime, createdTime, attempts + 1);
+    }
+  }
+}
@@ -31,12 +31,11 @@ public class SimpleAggregationValidator implements Validator {
    */
   @Override
   public synchronized ValidationResult validate(Iterable<Transaction> transactions) {
-    for (Transaction transaction : transactions) {
-      for (Rule rule : rules.values()) {
-        final ValidationResult validationResult = rule.isSatisfiedBy(transaction);
-        if (validationResult.getStatus().equals(Verdict.REJECTED)) {
-          return validationResult;
-        }
+    // rules see the whole batch to account for the effect of previous transactions
+    for (Rule rule : rules.values()) {
+      final ValidationResult validationResult = rule.isSatisfiedBy(transactions);
+      if (validationResult.getStatus().equals(Verdict.REJECTED)) {
+        return validationResult;
       }
     }
     return ValidationResult.VALIDATED;
@@ -0,0 +1,129 @@
+/*
+ * Copyright D3 Ledger, Inc. All Rights Reserved.
+ *  SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules.impl.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import iroha.protocol.BlockOuterClass.Block;
+import iroha.protocol.BlockOuterClass.Block_v1;
+import iroha.protocol.Commands.AddSignatory;
+import iroha.protocol.Commands.Command;
+import iroha.protocol.Commands.RemoveSignatory;
+import iroha.protocol.QryResponses.SignatoriesResponse;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.validation.verdict.Verdict;
+import java.util.Arrays;
+import jp.co.soramitsu.iroha.java.QueryAPI;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MinimumSignatoriesAmountRuleTest {
+
+  private final String accountId = "user@d3";
+  private final QueryAPI queryAPI = mock(QueryAPI.class);
+
+  private SignatoriesCountCache cache;
+  private MinimumSignatoriesAmountRule rule;
+
+  @BeforeEach
+  void setUp() {
+    // user keys and brvs key
+    when(queryAPI.getSignatories(accountId)).thenReturn(signatories(4));
+    cache = new SignatoriesCountCache(queryAPI);
+    rule = new MinimumSignatoriesAmountRule("2", cache);
+  }
+
+  private SignatoriesResponse signatories(int count) {
+    final SignatoriesResponse.Builder signatories = SignatoriesResponse.newBuilder();
+    for (int i = 0; i < count; i++) {
+      signatories.addKeys("key" + i);
+    }
+    return signatories.build();
+  }
+
+  private Command removeSignatory() {
+    return Command.newBuilder()
+        .setRemoveSignatory(RemoveSignatory.newBuilder().setAccountId(accountId))
+        .build();
+  }
+
+  private Command addSignatory() {
+    return Command.newBuilder()
+        .setAddSignatory(AddSignatory.newBuilder().setAccountId(accountId))
+        .build();
+  }
+
+  private Transaction transaction(Command... commands) {
+    final Transaction.Builder transaction = Transaction.newBuilder();
+    transaction.getPayloadBuilder().getReducedPayloadBuilder()
+        .setCreatorAccountId(accountId)
+        .addAllCommands(Arrays.asList(commands));
+    return transaction.build();
+  }
+
+  /**
+   * @given {@link MinimumSignatoriesAmountRule} instance and an account with 3 user keys
+   * @when transactions removing one key are validated
+   * @then {@link MinimumSignatoriesAmountRule} validates all of them querying signatories once
+   */
+  @Test
+  void singleRemovalTest() {
+    for (int i = 0; i < 3; i++) {
+      assertEquals(Verdict.VALIDATED,
+          rule.isSatisfiedBy(transaction(removeSignatory())).getStatus());
+    }
+    verify(queryAPI, times(1)).getSignatories(accountId);
+  }
+
+  /**
+   * @given {@link MinimumSignatoriesAmountRule} instance and an account with 3 user keys
+   * @when a batch of two transactions removing one key each is validated
+   * @then {@link MinimumSignatoriesAmountRule} rejects the batch
+   */
+  @Test
+  void batchRemovalsTest() {
+    assertEquals(Verdict.REJECTED, rule.isSatisfiedBy(Arrays.asList(
+        transaction(removeSignatory()),
+        transaction(removeSignatory())
+    )).getStatus());
+  }
+
+  /**
+   * @given {@link MinimumSignatoriesAmountRule} instance and an account with 3 user keys
+   * @when a batch adding a key and then removing two keys is validated
+   * @then {@link MinimumSignatoriesAmountRule} validates the batch
+   */
+  @Test
+  void batchRotationTest() {
+    assertEquals(Verdict.VALIDATED, rule.isSatisfiedBy(Arrays.asList(
+        transaction(addSignatory()),
+        transaction(removeSignatory(), removeSignatory())
+    )).getStatus());
+  }
+
+  /**
+   * @given {@link SignatoriesCountCache} instance with a count loaded
+   * @when a block adding a signatory to the account is processed
+   * @then the count is queried again
+   */
+  @Test
+  void countIsEvictedByBlockTest() {
+    assertEquals(4, cache.getSignatoriesCount(accountId));
+
+    cache.process(Block.newBuilder()
+        .setBlockV1(Block_v1.newBuilder()
+            .setPayload(Block_v1.Payload.newBuilder().addTransactions(transaction(addSignatory())))
+        )
+        .build());
+    when(queryAPI.getSignatories(accountId)).thenReturn(signatories(5));
+
+    assertEquals(5, cache.getSignatoriesCount(accountId));
+  }
+}
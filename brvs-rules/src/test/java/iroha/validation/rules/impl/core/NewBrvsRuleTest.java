@@ -0,0 +1,124 @@
+/*
+ * Copyright D3 Ledger, Inc. All Rights Reserved.
+ *  SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules.impl.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import iroha.protocol.BlockOuterClass.Block;
+import iroha.protocol.BlockOuterClass.Block_v1;
+import iroha.protocol.Commands.AddSignatory;
+import iroha.protocol.Commands.Command;
+import iroha.protocol.Commands.SetAccountDetail;
+import iroha.protocol.Commands.TransferAsset;
+import iroha.protocol.QryResponses.Account;
+import iroha.protocol.QryResponses.AccountResponse;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.validation.verdict.Verdict;
+import jp.co.soramitsu.iroha.java.QueryAPI;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NewBrvsRuleTest {
+
+  private final String brvsAccountId = "brvs@brvs";
+  private final String knownKey = "aa";
+  private final String newKey = "bb";
+  private final QueryAPI queryAPI = mock(QueryAPI.class);
+
+  private BrvsKeysRegistry registry;
+  private NewBrvsRule rule;
+
+  @BeforeEach
+  void setUp() {
+    when(queryAPI.getAccountId()).thenReturn(brvsAccountId);
+    when(queryAPI.getAccount(brvsAccountId)).thenReturn(AccountResponse.newBuilder()
+        .setAccount(Account.newBuilder()
+            .setAccountId(brvsAccountId)
+            .setJsonData("{\"brvs@brvs\": {\"" + knownKey + "\": \"host\"}}")
+        )
+        .build());
+    registry = new BrvsKeysRegistry(queryAPI);
+    rule = new NewBrvsRule(registry);
+  }
+
+  private Transaction transaction(Command command) {
+    final Transaction.Builder transaction = Transaction.newBuilder();
+    transaction.getPayloadBuilder().getReducedPayloadBuilder()
+        .setCreatorAccountId(brvsAccountId)
+        .addCommands(command);
+    return transaction.build();
+  }
+
+  private Transaction addBrvsSignatory(String key) {
+    return transaction(Command.newBuilder()
+        .setAddSignatory(AddSignatory.newBuilder()
+            .setAccountId(brvsAccountId)
+            .setPublicKey(key)
+        )
+        .build());
+  }
+
+  /**
+   * @given {@link NewBrvsRule} instance
+   * @when a transaction without BRVS signatories changes is validated
+   * @then {@link NewBrvsRule} validates it without querying Iroha
+   */
+  @Test
+  void irrelevantTransactionTest() {
+    final Transaction transaction = transaction(Command.newBuilder()
+        .setTransferAsset(TransferAsset.newBuilder().setSrcAccountId("user@d3"))
+        .build());
+
+    assertEquals(Verdict.VALIDATED, rule.isSatisfiedBy(transaction).getStatus());
+    verify(queryAPI, never()).getAccount(anyString());
+  }
+
+  /**
+   * @given {@link NewBrvsRule} instance
+   * @when transactions adding a known and an unknown BRVS key are validated
+   * @then {@link NewBrvsRule} validates the first one and rejects the second one
+   */
+  @Test
+  void knownKeysTest() {
+    assertEquals(Verdict.VALIDATED, rule.isSatisfiedBy(addBrvsSignatory(knownKey)).getStatus());
+    assertEquals(Verdict.VALIDATED, rule.isSatisfiedBy(addBrvsSignatory(knownKey)).getStatus());
+    verify(queryAPI, times(1)).getAccount(brvsAccountId);
+
+    assertEquals(Verdict.REJECTED, rule.isSatisfiedBy(addBrvsSignatory(newKey)).getStatus());
+  }
+
+  /**
+   * @given {@link NewBrvsRule} instance with the keys loaded
+   * @when a block registering a new BRVS key is processed
+   * @then {@link NewBrvsRule} validates a transaction adding the key without querying Iroha
+   */
+  @Test
+  void keyIsRegisteredByBlockTest() {
+    rule.isSatisfiedBy(addBrvsSignatory(knownKey));
+
+    final Transaction registration = transaction(Command.newBuilder()
+        .setSetAccountDetail(SetAccountDetail.newBuilder()
+            .setAccountId(brvsAccountId)
+            .setKey(newKey)
+            .setValue("host")
+        )
+        .build());
+    registry.process(Block.newBuilder()
+        .setBlockV1(Block_v1.newBuilder()
+            .setPayload(Block_v1.Payload.newBuilder().addTransactions(registration))
+        )
+        .build());
+
+    assertEquals(Verdict.VALIDATED, rule.isSatisfiedBy(addBrvsSignatory(newKey)).getStatus());
+    verify(queryAPI, times(1)).getAccount(brvsAccountId);
+  }
+}
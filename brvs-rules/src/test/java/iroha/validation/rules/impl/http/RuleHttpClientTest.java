@@ -0,0 +1,128 @@
+/*
+ * Copyright D3 Ledger, Inc. All Rights Reserved.
+ *  SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules.impl.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.sun.net.httpserver.HttpServer;
+import iroha.validation.rules.impl.http.RuleHttpClient.CircuitOpenException;
+import iroha.validation.rules.impl.http.RuleHttpClient.Response;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RuleHttpClientTest {
+
+  private static final String BODY = "{\"itIs\":\"18\"}";
+  private static final long CIRCUIT_OPEN_MILLIS = 200;
+
+  private final AtomicInteger hits = new AtomicInteger();
+  private final AtomicInteger statusCode = new AtomicInteger(200);
+  private HttpServer server;
+  private URL url;
+  private URL slowUrl;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/stub", exchange -> {
+      hits.incrementAndGet();
+      final byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+      exchange.sendResponseHeaders(statusCode.get(), body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    });
+    server.createContext("/slow", exchange -> {
+      try {
+        Thread.sleep(1000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      exchange.sendResponseHeaders(200, -1);
+      exchange.close();
+    });
+    server.start();
+    final String baseUrl = "http://localhost:" + server.getAddress().getPort();
+    url = new URL(baseUrl + "/stub");
+    slowUrl = new URL(baseUrl + "/slow");
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+  }
+
+  /**
+   * @given {@link RuleHttpClient} instance and a stub server responding with 200
+   * @when GET requests are performed
+   * @then the body is returned as is and the requests are accounted in the metrics
+   */
+  @Test
+  void getTest() throws IOException {
+    final RuleHttpClient client = new RuleHttpClient();
+
+    for (int i = 0; i < 3; i++) {
+      final Response response = client.get(url);
+      assertEquals(200, response.getCode());
+      assertEquals(BODY, response.getBody());
+    }
+
+    assertEquals(3, hits.get());
+    assertEquals(3, client.getRequestsCount());
+    assertEquals(0, client.getFailuresCount());
+    assertEquals(0, client.getRejectedCount());
+  }
+
+  /**
+   * @given {@link RuleHttpClient} instance with read timeout shorter than the server response
+   * time
+   * @when GET request is performed
+   * @then {@link SocketTimeoutException} is thrown and the failure is accounted
+   */
+  @Test
+  void readTimeoutTest() {
+    final RuleHttpClient client = new RuleHttpClient(1000, 100, 5, CIRCUIT_OPEN_MILLIS);
+
+    assertThrows(SocketTimeoutException.class, () -> client.get(slowUrl));
+    assertEquals(1, client.getFailuresCount());
+  }
+
+  /**
+   * @given {@link RuleHttpClient} instance with failure threshold of 2 and a stub server
+   * responding with 500
+   * @when GET requests are performed before and after the circuit open time passes
+   * @then requests fail immediately without reaching the server while the circuit is open and
+   * the circuit is closed by a successful trial request
+   */
+  @Test
+  void circuitBreakerTest() throws Exception {
+    final RuleHttpClient client = new RuleHttpClient(1000, 1000, 2, CIRCUIT_OPEN_MILLIS);
+    statusCode.set(500);
+
+    assertEquals(500, client.get(url).getCode());
+    assertEquals(500, client.get(url).getCode());
+    assertThrows(CircuitOpenException.class, () -> client.get(url));
+    assertEquals(2, hits.get());
+    assertEquals(1, client.getRejectedCount());
+
+    statusCode.set(200);
+    Thread.sleep(CIRCUIT_OPEN_MILLIS * 2);
+
+    assertEquals(200, client.get(url).getCode());
+    assertEquals(200, client.get(url).getCode());
+    assertEquals(4, hits.get());
+    assertEquals(2, client.getFailuresCount());
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright D3 Ledger, Inc. All Rights Reserved.
+ *  SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules.impl.lykke;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.sun.net.httpserver.HttpServer;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.validation.rules.impl.http.RuleHttpClient;
+import iroha.validation.verdict.Verdict;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LykkeRuleTest {
+
+  private static final String OK_STATUS = "\"Ok\"";
+  private static final String PENDING_STATUS = "\"Pending\"";
+
+  private final AtomicInteger hits = new AtomicInteger();
+  private final AtomicReference<String> status = new AtomicReference<>(OK_STATUS);
+  private final AtomicInteger delayMillis = new AtomicInteger();
+  private final AtomicInteger responseCode = new AtomicInteger(200);
+  private final Transaction transaction = mock(Transaction.class, RETURNS_DEEP_STUBS);
+  private HttpServer server;
+  private String url;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.createContext("/kyc/", exchange -> {
+      hits.incrementAndGet();
+      try {
+        Thread.sleep(delayMillis.get());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      final byte[] body = status.get().getBytes(StandardCharsets.UTF_8);
+      exchange.sendResponseHeaders(responseCode.get(), body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    });
+    server.start();
+    url = "http://localhost:" + server.getAddress().getPort() + "/kyc/";
+    when(transaction.getPayload().getReducedPayload().getCreatorAccountId())
+        .thenReturn("user@d3");
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+  }
+
+  /**
+   * @given {@link LykkeRule} instance and KYC endpoint responding with "Ok"
+   * @when transactions of the same creator are validated
+   * @then {@link LykkeRule} validates all of them calling the endpoint once
+   */
+  @Test
+  void positiveResultIsCachedTest() {
+    final LykkeRule rule = new LykkeRule(url, new RuleHttpClient());
+
+    for (int i = 0; i < 3; i++) {
+      assertEquals(Verdict.VALIDATED, rule.isSatisfiedBy(transaction).getStatus());
+    }
+    assertEquals(1, hits.get());
+  }
+
+  /**
+   * @given {@link LykkeRule} instance with negative results not cached and KYC endpoint
+   * responding with "Pending" first and "Ok" then
+   * @when transactions of the same creator are validated
+   * @then {@link LykkeRule} rejects the first one and validates the second one
+   */
+  @Test
+  void negativeResultIsNotCachedTest() {
+    final LykkeRule rule = new LykkeRule(url, new RuleHttpClient(), 60000, 0);
+    status.set(PENDING_STATUS);
+
+    assertEquals(Verdict.REJECTED, rule.isSatisfiedBy(transaction).getStatus());
+    status.set(OK_STATUS);
+    assertEquals(Verdict.VALIDATED, rule.isSatisfiedBy(transaction).getStatus());
+    assertEquals(2, hits.get());
+  }
+
+  /**
+   * @given {@link LykkeRule} instance and KYC endpoint failing with a server error first and
+   * responding with "Ok" then
+   * @when transactions of the same creator are validated
+   * @then {@link LykkeRule} rejects the first one and validates the second one
+   */
+  @Test
+  void serverErrorIsNotCachedTest() {
+    final LykkeRule rule = new LykkeRule(url, new RuleHttpClient());
+    responseCode.set(503);
+
+    assertEquals(Verdict.REJECTED, rule.isSatisfiedBy(transaction).getStatus());
+    responseCode.set(200);
+    assertEquals(Verdict.VALIDATED, rule.isSatisfiedBy(transaction).getStatus());
+    assertEquals(2, hits.get());
+  }
+
+  /**
+   * @given {@link LykkeRule} instance with a short negative results TTL and KYC endpoint
+   * responding with "Pending" first and "Ok" then
+   * @when transactions of the same creator are validated before and after the TTL elapses
+   * @then {@link LykkeRule} reuses the rejection first and requests the status again afterwards
+   */
+  @Test
+  void expiredResultIsRequestedAgainTest() throws InterruptedException {
+    final LykkeRule rule = new LykkeRule(url, new RuleHttpClient(), 60000, 100);
+    status.set(PENDING_STATUS);
+
+    assertEquals(Verdict.REJECTED, rule.isSatisfiedBy(transaction).getStatus());
+    status.set(OK_STATUS);
+    assertEquals(Verdict.REJECTED, rule.isSatisfiedBy(transaction).getStatus());
+    Thread.sleep(200);
+    assertEquals(Verdict.VALIDATED, rule.isSatisfiedBy(transaction).getStatus());
+    assertEquals(Verdict.VALIDATED, rule.isSatisfiedBy(transaction).getStatus());
+    assertEquals(2, hits.get());
+  }
+
+  /**
+   * @given {@link LykkeRule} instance and slow KYC endpoint
+   * @when transactions of the same creator are validated concurrently
+   * @then {@link LykkeRule} validates all of them calling the endpoint once
+   */
+  @Test
+  void concurrentChecksAreCoalescedTest() throws Exception {
+    final LykkeRule rule = new LykkeRule(url, new RuleHttpClient());
+    delayMillis.set(500);
+    final ExecutorService executorService = Executors.newFixedThreadPool(5);
+    try {
+      final List<Future<Verdict>> verdicts = new ArrayList<>();
+      for (int i = 0; i < 5; i++) {
+        verdicts.add(executorService.submit(() -> rule.isSatisfiedBy(transaction).getStatus()));
+      }
+      for (Future<Verdict> verdict : verdicts) {
+        assertEquals(Verdict.VALIDATED, verdict.get());
+      }
+    } finally {
+      executorService.shutdownNow();
+    }
+    assertEquals(1, hits.get());
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright D3 Ledger, Inc. All Rights Reserved.
+ *  SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules.impl.whitelist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import iroha.protocol.BlockOuterClass.Block;
+import iroha.protocol.BlockOuterClass.Block_v1;
+import iroha.protocol.Commands.Command;
+import iroha.protocol.Commands.SetAccountDetail;
+import iroha.protocol.QryResponses.QueryResponse;
+import iroha.protocol.Queries.Query;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import java.security.KeyPair;
+import java.util.Collections;
+import jp.co.soramitsu.crypto.ed25519.Ed25519Sha3;
+import jp.co.soramitsu.iroha.java.IrohaAPI;
+import jp.co.soramitsu.iroha.java.QueryAPI;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BrvsWhitelistCacheTest {
+
+  private static final Ed25519Sha3 crypto = new Ed25519Sha3();
+
+  private final String brvsAccountId = "brvs@brvs";
+  private final KeyPair brvsAccountKeyPair = crypto.generateKeypair();
+  private final IrohaAPI irohaAPI = mock(IrohaAPI.class);
+  private final QueryResponse queryResponse = mock(QueryResponse.class, RETURNS_DEEP_STUBS);
+
+  private final String clientId = "client@d3";
+  private final String address = "0x6826d84158e516f631bBf14586a9BE7e255b2D20";
+  private final String newAddress = "0x6826d84158e516f631bBf14586a9BE7e255b2D22";
+
+  private BrvsWhitelistCache cache;
+
+  @BeforeEach
+  void setUp() {
+    when(irohaAPI.query(isA(Query.class))).thenReturn(queryResponse);
+    when(queryResponse.hasAccountDetailResponse()).thenReturn(true);
+    when(queryResponse.getAccountDetailResponse().getDetail()).thenReturn(
+        "{\"brvs@brvs\" : {\"eth_whitelist\" : \"{\\\"" + address + "\\\":1}\"}}"
+    );
+    cache = new BrvsWhitelistCache(new QueryAPI(irohaAPI, brvsAccountId, brvsAccountKeyPair));
+  }
+
+  private Block blockWithWhitelist(String creatorAccountId, String whitelistKey, String json) {
+    return blockWithWhitelist(creatorAccountId, whitelistKey, json, 0);
+  }
+
+  private Block blockWithWhitelist(String creatorAccountId,
+      String whitelistKey,
+      String json,
+      long createdTime) {
+    final Command command = Command.newBuilder()
+        .setSetAccountDetail(SetAccountDetail.newBuilder()
+            .setAccountId(clientId)
+            .setKey(whitelistKey)
+            .setValue(WhitelistUtils.irohaEscape(json))
+        )
+        .build();
+    final Transaction.Builder transaction = Transaction.newBuilder();
+    transaction.getPayloadBuilder().getReducedPayloadBuilder()
+        .setCreatorAccountId(creatorAccountId)
+        .setCreatedTime(createdTime)
+        .addCommands(command);
+    return Block.newBuilder()
+        .setBlockV1(Block_v1.newBuilder()
+            .setPayload(Block_v1.Payload.newBuilder().addTransactions(transaction))
+        )
+        .build();
+  }
+
+  /**
+   * @given {@link BrvsWhitelistCache} instance
+   * @when the same whitelist is requested several times
+   * @then Iroha is queried only once
+   */
+  @Test
+  void whitelistIsQueriedOnceTest() throws IllegalAccessException {
+    for (int i = 0; i < 3; i++) {
+      assertEquals(
+          Collections.singletonMap(address, 1L),
+          cache.getWhitelist(clientId, WhitelistUtils.ETH_WHITELIST_KEY)
+      );
+    }
+    verify(irohaAPI, times(1)).query(isA(Query.class));
+  }
+
+  /**
+   * @given {@link BrvsWhitelistCache} instance with a whitelist loaded
+   * @when a block with the whitelist set by BRVS is processed
+   * @then the new whitelist is returned without querying Iroha
+   */
+  @Test
+  void whitelistIsUpdatedByBlockTest() throws IllegalAccessException {
+    cache.getWhitelist(clientId, WhitelistUtils.ETH_WHITELIST_KEY);
+
+    cache.process(blockWithWhitelist(
+        brvsAccountId,
+        WhitelistUtils.ETH_WHITELIST_KEY,
+        "{\"" + newAddress + "\":2}"
+    ));
+
+    assertEquals(
+        Collections.singletonMap(newAddress, 2L),
+        cache.getWhitelist(clientId, WhitelistUtils.ETH_WHITELIST_KEY)
+    );
+    verify(irohaAPI, times(1)).query(isA(Query.class));
+  }
+
+  /**
+   * @given {@link BrvsWhitelistCache} instance with a whitelist loaded
+   * @when a block with the whitelist set by another account is processed
+   * @then the whitelist stays the same
+   */
+  @Test
+  void whitelistOfOtherCreatorIsIgnoredTest() throws IllegalAccessException {
+    cache.getWhitelist(clientId, WhitelistUtils.ETH_WHITELIST_KEY);
+
+    cache.process(blockWithWhitelist(
+        clientId,
+        WhitelistUtils.ETH_WHITELIST_KEY,
+        "{\"" + newAddress + "\":2}"
+    ));
+
+    assertEquals(
+        Collections.singletonMap(address, 1L),
+        cache.getWhitelist(clientId, WhitelistUtils.ETH_WHITELIST_KEY)
+    );
+  }
+
+  /**
+   * @given {@link BrvsWhitelistCache} instance with a whitelist updated by a BRVS transaction
+   * @when a block with an older BRVS transaction setting the whitelist is processed
+   * @then the updated whitelist stays the same
+   */
+  @Test
+  void olderBlockDoesNotOverwriteUpdateTest() throws IllegalAccessException {
+    cache.update(
+        clientId,
+        WhitelistUtils.ETH_WHITELIST_KEY,
+        Collections.singletonMap(newAddress, 3L),
+        2
+    );
+
+    cache.process(blockWithWhitelist(
+        brvsAccountId,
+        WhitelistUtils.ETH_WHITELIST_KEY,
+        "{\"" + address + "\":2}",
+        1
+    ));
+
+    assertEquals(
+        Collections.singletonMap(newAddress, 3L),
+        cache.getWhitelist(clientId, WhitelistUtils.ETH_WHITELIST_KEY)
+    );
+    verify(irohaAPI, times(0)).query(isA(Query.class));
+  }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright D3 Ledger, Inc. All Rights Reserved.
+ *  SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules.impl.whitelist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.reactivex.Observable;
+import iroha.protocol.Commands.Command;
+import iroha.protocol.Commands.SetAccountDetail;
+import iroha.protocol.Endpoint.ToriiResponse;
+import iroha.protocol.Endpoint.TxStatus;
+import iroha.protocol.QryResponses.QueryResponse;
+import iroha.protocol.Queries.Query;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import java.security.KeyPair;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import jp.co.soramitsu.crypto.ed25519.Ed25519Sha3;
+import jp.co.soramitsu.iroha.java.IrohaAPI;
+import jp.co.soramitsu.iroha.java.QueryAPI;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class WhitelistUpdateWriterTest {
+
+  private static final Ed25519Sha3 crypto = new Ed25519Sha3();
+
+  private final String brvsAccountId = "brvs@brvs";
+  private final KeyPair brvsAccountKeyPair = crypto.generateKeypair();
+  private final IrohaAPI irohaAPI = mock(IrohaAPI.class);
+  private final QueryResponse queryResponse = mock(QueryResponse.class, RETURNS_DEEP_STUBS);
+  private final ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+
+  private final String clientId = "client@d3";
+  private final String otherClientId = "other@d3";
+  private final String address = "0x6826d84158e516f631bBf14586a9BE7e255b2D20";
+  private final String newAddress = "0x6826d84158e516f631bBf14586a9BE7e255b2D22";
+
+  private WhitelistUpdateWriter writer;
+
+  @BeforeEach
+  void setUp() {
+    when(irohaAPI.query(isA(Query.class))).thenReturn(queryResponse);
+    when(queryResponse.hasAccountDetailResponse()).thenReturn(true);
+    when(queryResponse.getAccountDetailResponse().getDetail()).thenReturn("{}");
+    when(irohaAPI.transaction(isA(Transaction.class))).thenReturn(Observable.just(
+        ToriiResponse.newBuilder().setTxStatus(TxStatus.COMMITTED).build()
+    ));
+    // scheduled flushes must not interfere
+    writer = new WhitelistUpdateWriter(
+        new QueryAPI(irohaAPI, brvsAccountId, brvsAccountKeyPair),
+        null,
+        60000
+    );
+  }
+
+  @AfterEach
+  void tearDown() {
+    writer.close();
+  }
+
+  private Map<String, SetAccountDetail> captureDetails() {
+    verify(irohaAPI, times(1)).transaction(captor.capture());
+    assertEquals(brvsAccountId,
+        captor.getValue().getPayload().getReducedPayload().getCreatorAccountId());
+    return captor.getValue().getPayload().getReducedPayload().getCommandsList().stream()
+        .map(Command::getSetAccountDetail)
+        .collect(Collectors.toMap(
+            detail -> detail.getAccountId() + "/" + detail.getKey(),
+            Function.identity()
+        ));
+  }
+
+  /**
+   * @given {@link WhitelistUpdateWriter} instance
+   * @when changes of several whitelists are submitted and flushed
+   * @then all of them are written by a single BRVS transaction
+   */
+  @Test
+  void changesAreCoalescedTest() {
+    final List<String> whitelist = Collections.singletonList(address);
+    writer.submit(clientId, WhitelistUtils.ETH_WHITELIST_KEY, whitelist, 10, 1);
+    writer.submit(clientId, WhitelistUtils.BTC_WHITELIST_KEY, whitelist, 10, 2);
+    writer.submit(otherClientId, WhitelistUtils.ETH_WHITELIST_KEY, whitelist, 10, 3);
+    verify(irohaAPI, never()).transaction(isA(Transaction.class));
+
+    writer.flush();
+
+    final Map<String, SetAccountDetail> details = captureDetails();
+    assertEquals(3, details.size());
+    assertEquals(3, captor.getValue().getPayload().getReducedPayload().getCreatedTime());
+    assertEquals(
+        Collections.singletonMap(address, 10L),
+        WhitelistUtils.deserializeBRVSWhitelist(
+            details.get(clientId + "/" + WhitelistUtils.BTC_WHITELIST_KEY).getValue()
+        )
+    );
+    assertEquals(0, writer.getPendingCount());
+  }
+
+  /**
+   * @given {@link WhitelistUpdateWriter} instance
+   * @when the same whitelist is changed twice before a flush
+   * @then only the latest change is written
+   */
+  @Test
+  void latestChangeWinsTest() {
+    writer.submit(clientId, WhitelistUtils.ETH_WHITELIST_KEY,
+        Collections.singletonList(address), 10, 1);
+    writer.submit(clientId, WhitelistUtils.ETH_WHITELIST_KEY,
+        Arrays.asList(address, newAddress), 20, 2);
+
+    writer.flush();
+
+    final Map<String, SetAccountDetail> details = captureDetails();
+    assertEquals(1, details.size());
+    assertEquals(
+        Arrays.asList(address, newAddress).stream()
+            .collect(Collectors.toMap(Function.identity(), a -> 20L)),
+        WhitelistUtils.deserializeBRVSWhitelist(
+            details.get(clientId + "/" + WhitelistUtils.ETH_WHITELIST_KEY).getValue()
+        )
+    );
+  }
+
+  /**
+   * @given {@link WhitelistUpdateWriter} instance and Iroha rejecting the BRVS transaction
+   * @when a change is flushed
+   * @then the change stays pending
+   */
+  @Test
+  void failedChangeIsKeptTest() {
+    when(irohaAPI.transaction(isA(Transaction.class))).thenReturn(Observable.just(
+        ToriiResponse.newBuilder().setTxStatus(TxStatus.STATEFUL_VALIDATION_FAILED).build()
+    ));
+    writer.submit(clientId, WhitelistUtils.ETH_WHITELIST_KEY,
+        Collections.singletonList(address), 10, 1);
+
+    writer.flush();
+
+    assertEquals(1, writer.getPendingCount());
+  }
+
+  /**
+   * @given {@link WhitelistUpdateWriter} instance and Iroha rejecting the BRVS transaction
+   * @when a change is flushed the maximum amount of attempts
+   * @then the change is dropped
+   */
+  @Test
+  void failedChangeIsDroppedTest() {
+    when(irohaAPI.transaction(isA(Transaction.class))).thenReturn(Observable.just(
+        ToriiResponse.newBuilder().setTxStatus(TxStatus.STATEFUL_VALIDATION_FAILED).build()
+    ));
+    writer.submit(clientId, WhitelistUtils.ETH_WHITELIST_KEY,
+        Collections.singletonList(address), 10, 1);
+
+    for (int i = 1; i < WhitelistUpdateWriter.MAX_ATTEMPTS; i++) {
+      writer.flush();
+      assertEquals(1, writer.getPendingCount());
+    }
+    writer.flush();
+
+    assertEquals(0, writer.getPendingCount());
+    verify(irohaAPI, times(WhitelistUpdateWriter.MAX_ATTEMPTS))
+        .transaction(isA(Transaction.class));
+  }
+
+  /**
+   * @given {@link WhitelistUpdateWriter} instance and Iroha rejecting changes of one client
+   * @when changes of several clients are flushed
+   * @then the shared transaction fails, changes are sent separately and only the rejected one
+   * stays pending
+   */
+  @Test
+  void failedChangeIsIsolatedTest() {
+    when(irohaAPI.transaction(isA(Transaction.class))).thenAnswer(invocation -> {
+      final Transaction transaction = invocation.getArgument(0);
+      final boolean rejected = transaction.getPayload().getReducedPayload().getCommandsList()
+          .stream()
+          .anyMatch(command -> command.getSetAccountDetail().getAccountId().equals(otherClientId));
+      return Observable.just(ToriiResponse.newBuilder()
+          .setTxStatus(rejected ? TxStatus.STATEFUL_VALIDATION_FAILED : TxStatus.COMMITTED)
+          .build()
+      );
+    });
+    final List<String> whitelist = Collections.singletonList(address);
+    writer.submit(clientId, WhitelistUtils.ETH_WHITELIST_KEY, whitelist, 10, 1);
+    writer.submit(otherClientId, WhitelistUtils.ETH_WHITELIST_KEY, whitelist, 10, 2);
+
+    writer.flush();
+
+    verify(irohaAPI, times(3)).transaction(captor.capture());
+    final List<Transaction> transactions = captor.getAllValues();
+    assertEquals(2, transactions.get(0).getPayload().getReducedPayload().getCommandsCount());
+    assertEquals(clientId, transactions.get(1).getPayload().getReducedPayload()
+        .getCommands(0).getSetAccountDetail().getAccountId());
+    assertEquals(1, writer.getPendingCount());
+  }
+}